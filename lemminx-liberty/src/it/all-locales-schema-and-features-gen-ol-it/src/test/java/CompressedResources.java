@@ -0,0 +1,89 @@
+package io.openliberty.tools.test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the gzip compressed resources read by CompressedResourceUtil: &lt;name&gt;.gz next to the
+ * SHA256SUMS file of its folder, which lists the SHA-256 of each uncompressed file in sha256sum format.
+ */
+public class CompressedResources {
+
+    private static final String COMPRESSED_EXTENSION = ".gz";
+    private static final String CHECKSUMS_FILE = "SHA256SUMS";
+
+    private CompressedResources() {
+    }
+
+    /**
+     * Replaces the passed file with a gzip compressed copy next to it, and records the checksum of the
+     * uncompressed file in the SHA256SUMS file of its folder. Lines of files whose compressed copy no
+     * longer exists are dropped, so the manifest always matches the folder.
+     *
+     * @param file uncompressed resource
+     * @return the compressed copy
+     */
+    public static Path compress(Path file) throws IOException {
+        Path compressedFile = file.resolveSibling(file.getFileName() + COMPRESSED_EXTENSION);
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest);
+             OutputStream out = new GZIPOutputStream(Files.newOutputStream(compressedFile), buffer.length) {
+                 {
+                     def.setLevel(Deflater.BEST_COMPRESSION);
+                 }
+             }) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+        StringBuilder checksum = new StringBuilder();
+        for (byte b : digest.digest()) {
+            checksum.append(String.format("%02x", b));
+        }
+        updateChecksums(file.getParent(), file.getFileName().toString(), checksum.toString());
+        Files.delete(file);
+        return compressedFile;
+    }
+
+    private static void updateChecksums(Path folder, String fileName, String checksum) throws IOException {
+        Path checksumsFile = folder.resolve(CHECKSUMS_FILE);
+        Map<String, String> folderChecksums = new TreeMap<>();
+        if (Files.isRegularFile(checksumsFile)) {
+            try (BufferedReader reader = Files.newBufferedReader(checksumsFile, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    // <sha256><two spaces, or space and * for binary mode><file name>
+                    String[] parts = line.trim().split("\\s+\\*?", 2);
+                    if (parts.length == 2) {
+                        folderChecksums.put(parts[1], parts[0]);
+                    }
+                }
+            }
+        }
+        folderChecksums.keySet().removeIf(name -> !Files.isRegularFile(folder.resolve(name + COMPRESSED_EXTENSION)));
+        folderChecksums.put(fileName, checksum);
+
+        StringBuilder lines = new StringBuilder();
+        folderChecksums.forEach((name, sum) -> lines.append(sum).append("  ").append(name).append('\n'));
+        Files.write(checksumsFile, lines.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
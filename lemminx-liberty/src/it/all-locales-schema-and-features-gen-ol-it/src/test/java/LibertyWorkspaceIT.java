@@ -8,15 +8,20 @@ import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
 
 public class LibertyWorkspaceIT {
     private static final Logger LOGGER = Logger.getLogger(LibertyWorkspaceIT.class.getName());
@@ -43,6 +48,26 @@ public class LibertyWorkspaceIT {
                 "Feature List JAR file does not exist. Path: " + featureListJarPath.toAbsolutePath());
     }
 
+    @Test
+    void compressRecordsChecksum(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("server-cached-25.0.0.6_de.xsd");
+        Files.write(file, "<xsd:schema/>\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(tempDir.resolve("SHA256SUMS"), "0123  server-cached-25.0.0.5_de.xsd\n".getBytes(StandardCharsets.UTF_8));
+
+        Path compressedFile = CompressedResources.compress(file);
+
+        Assertions.assertEquals(tempDir.resolve("server-cached-25.0.0.6_de.xsd.gz"), compressedFile);
+        Assertions.assertFalse(Files.exists(file));
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(compressedFile))) {
+            byte[] content = new byte[64];
+            int length = in.read(content);
+            Assertions.assertEquals("<xsd:schema/>\n", new String(content, 0, length, StandardCharsets.UTF_8));
+        }
+        // the line of the older file, which has no compressed copy in the folder, is dropped
+        Assertions.assertEquals(Collections.singletonList("c72955dd873d880529e80957511a83f2705c4be9036682f843d4593197a8c5f8  server-cached-25.0.0.6_de.xsd"),
+                Files.readAllLines(tempDir.resolve("SHA256SUMS")));
+    }
+
     @Test
     void generateSchemaFiles() throws Exception {
         Path projectRoot = getProjectRoot();
@@ -70,6 +95,10 @@ public class LibertyWorkspaceIT {
                     outputFile,
                     localeName
             );
+            // localized files are shipped gzipped and extracted by CompressedResourceUtil
+            if (StringUtils.isNotEmpty(localeName)) {
+                CompressedResources.compress(outputFile.toPath());
+            }
         }
     }
 
@@ -101,6 +130,10 @@ public class LibertyWorkspaceIT {
                     outputFile,
                     localeName
             );
+            // localized files are shipped gzipped and extracted by CompressedResourceUtil
+            if (StringUtils.isNotEmpty(localeName)) {
+                CompressedResources.compress(outputFile.toPath());
+            }
         }
         // copy default locale featurelist file to test/resources folder for unit tests
         Files.copy(new File(
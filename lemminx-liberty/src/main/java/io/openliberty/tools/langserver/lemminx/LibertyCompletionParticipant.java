@@ -41,6 +41,7 @@ import io.openliberty.tools.langserver.lemminx.data.LibertyRuntime;
 import io.openliberty.tools.langserver.lemminx.models.feature.Feature;
 import io.openliberty.tools.langserver.lemminx.services.FeatureService;
 import io.openliberty.tools.langserver.lemminx.services.SettingsService;
+import io.openliberty.tools.langserver.lemminx.services.VariableReferenceCache;
 import io.openliberty.tools.langserver.lemminx.util.LibertyConstants;
 import io.openliberty.tools.langserver.lemminx.util.LibertyUtils;
 
@@ -59,7 +60,7 @@ public class LibertyCompletionParticipant extends CompletionParticipantAdapter {
                         .getDocumentURI());
         LibertyUtils.checkAndAddNewVariables(request.getXMLDocument(), variableProps);
         //getting all existing variables in current completion prefix string
-        List<VariableLoc> variables = LibertyUtils.getVariablesFromTextContent(request.getXMLDocument(), valuePrefix);
+        List<VariableLoc> variables = VariableReferenceCache.scanVariableReferences(valuePrefix);
         String variablePrefix = "";
         String completionPrefix;
 
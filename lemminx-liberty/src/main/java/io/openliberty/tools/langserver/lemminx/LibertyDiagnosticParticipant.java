@@ -28,21 +28,27 @@ import org.eclipse.lsp4j.jsonrpc.CancelChecker;
 
 import io.openliberty.tools.langserver.lemminx.data.FeatureListGraph;
 import io.openliberty.tools.langserver.lemminx.data.LibertyRuntime;
+import io.openliberty.tools.langserver.lemminx.data.PlatformIndex;
+import io.openliberty.tools.langserver.lemminx.models.feature.FeaturesAndPlatforms;
+import io.openliberty.tools.langserver.lemminx.services.DiagnosticsSectionCache;
 import io.openliberty.tools.langserver.lemminx.services.FeatureService;
+import io.openliberty.tools.langserver.lemminx.services.FileStatCache;
+import io.openliberty.tools.langserver.lemminx.services.IncludeGraphService;
 import io.openliberty.tools.langserver.lemminx.services.LibertyProjectsManager;
 import io.openliberty.tools.langserver.lemminx.services.LibertyWorkspace;
 import io.openliberty.tools.langserver.lemminx.services.SettingsService;
+import io.openliberty.tools.langserver.lemminx.services.VariableReferenceCache;
 import io.openliberty.tools.langserver.lemminx.util.*;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
 import java.util.logging.Logger;
@@ -72,6 +78,8 @@ public class LibertyDiagnosticParticipant implements IDiagnosticsParticipant {
 
     public static final String FEATURE_NAME_CHANGED_CODE = "feature_name_changed";
 
+    private final DiagnosticsSectionCache sectionCache = new DiagnosticsSectionCache();
+
     @Override
     public void doDiagnostics(DOMDocument domDocument, List<Diagnostic> diagnostics,
             XMLValidationSettings validationSettings, CancelChecker cancelChecker) {
@@ -87,33 +95,63 @@ public class LibertyDiagnosticParticipant implements IDiagnosticsParticipant {
 
     private void validateDom(DOMDocument domDocument, List<Diagnostic> diagnosticsList) throws IOException {
         List<DOMNode> nodes = domDocument.getDocumentElement().getChildren();
-        List<Diagnostic> tempDiagnosticsList = new ArrayList<>();
-        Set<String> includedFeatures = new HashSet<>();
+        List<DOMNode> configElementNodes = new ArrayList<>();
+        List<String> includeLocations = new ArrayList<>();
+        Set<String> includedFeatures = Collections.emptySet();
         boolean featureManagerPresent = false;
         LibertyWorkspace workspace = LibertyProjectsManager.getInstance().getWorkspaceFolder(domDocument.getDocumentURI());
         if (workspace == null) {
             LOGGER.warning("Could not get workspace, using default cached feature list");
         }
         FeatureListGraph featureGraph = (workspace == null) ? FeatureService.getInstance().getDefaultFeatureList() : workspace.getFeatureListGraph();
+        DiagnosticsSectionCache.Pass pass = sectionCache.startPass(domDocument, getCatalogKey(domDocument, workspace, featureGraph));
         for (DOMNode node : nodes) {
             String nodeName = node.getNodeName();
 
             if (LibertyConstants.FEATURE_MANAGER_ELEMENT.equals(nodeName)) {
                 featureManagerPresent = true;
-                validateFeaturesAndPlatforms(domDocument, diagnosticsList, node, includedFeatures);
+                // features included by an earlier featureManager affect the diagnostics of this one
+                Set<String> featuresBefore = includedFeatures;
+                includedFeatures = pass.validate(node, featuresBefore, diagnosticsList, list -> {
+                    Set<String> features = new HashSet<>(featuresBefore);
+                    validateFeaturesAndPlatforms(domDocument, list, node, features);
+                    return Collections.unmodifiableSet(features);
+                });
             } else if (LibertyConstants.INCLUDE_ELEMENT.equals(nodeName)) {
+                // depends on the file system, not only on the section text
                 validateIncludeLocation(domDocument, diagnosticsList, node);
+                String location = node.getAttribute("location");
+                if (location != null) {
+                    includeLocations.add(location);
+                }
             } else if (featureGraph.isConfigElement(nodeName)) {    // defaults to false
-                holdConfigElement(domDocument, node, tempDiagnosticsList);
+                configElementNodes.add(node);
             }
         }
-        validateConfigElements(domDocument, diagnosticsList, tempDiagnosticsList, featureGraph, includedFeatures, featureManagerPresent);
+        validateConfigElements(domDocument, diagnosticsList, configElementNodes, includeLocations, featureGraph, includedFeatures,
+                featureManagerPresent, pass);
+        pass.finish();
+        // depends on the variables of the other config files, and updates the settings
         validateVariables(domDocument, diagnosticsList, workspace);
     }
 
+    /**
+     * Returns the key of everything besides the document text that the cached section diagnostics depend on:
+     * the feature list graph, the workspace feature snapshot, the feature catalog of the runtime and the locale.
+     * The graph and catalog are compared by identity, a reloaded catalog is a new object.
+     */
+    private static Object getCatalogKey(DOMDocument domDocument, LibertyWorkspace workspace, FeatureListGraph featureGraph) {
+        LibertyRuntime runtimeInfo = LibertyUtils.getLibertyRuntimeInfo(domDocument);
+        String libertyVersion = runtimeInfo == null ? null : runtimeInfo.getRuntimeVersion();
+        String libertyRuntime = runtimeInfo == null ? null : runtimeInfo.getRuntimeType();
+        int requestDelay = SettingsService.getInstance().getRequestDelay();
+        FeaturesAndPlatforms catalog = FeatureService.getInstance().getFeaturesAndPlatforms(libertyVersion, libertyRuntime, requestDelay, domDocument.getDocumentURI());
+        Long snapshotVersion = workspace == null ? null : workspace.getFeatureSnapshot().getVersion();
+        return Arrays.asList(featureGraph, snapshotVersion, catalog, libertyRuntime, libertyVersion, SettingsService.getInstance().getCurrentLocale());
+    }
+
     private void validateVariables(DOMDocument domDocument, List<Diagnostic> diagnosticsList, LibertyWorkspace workspace) {
-        String docContent = domDocument.getTextDocument().getText();
-        List<VariableLoc> variables = LibertyUtils.getVariablesFromTextContent(domDocument, docContent);
+        List<VariableLoc> variables = VariableReferenceCache.getInstance().getVariableReferences(domDocument);
 
         Properties variablesMap = SettingsService.getInstance().getVariablesForServerXml(domDocument.getDocumentURI());
 
@@ -139,19 +177,7 @@ public class LibertyDiagnosticParticipant implements IDiagnosticsParticipant {
     }
 
     private void validateFeaturesAndPlatforms(DOMDocument domDocument, List<Diagnostic> list, DOMNode featureManager, Set<String> includedFeatures) {
-
-        LibertyRuntime runtimeInfo = LibertyUtils.getLibertyRuntimeInfo(domDocument);
-        String libertyVersion = runtimeInfo == null ? null : runtimeInfo.getRuntimeVersion();
-        String libertyRuntime = runtimeInfo == null ? null : runtimeInfo.getRuntimeType();
-
-        final int requestDelay = SettingsService.getInstance().getRequestDelay();
-
-        Set<String> featuresWithoutVersions = new HashSet<String>();
-        Set<String> versionlessFeatures = new HashSet<String>();
-        Set<String> versionedFeatures = new HashSet<String>();
-        Set<String> preferredPlatforms = new HashSet<String>();
-        Set<String> preferredPlatformsWithoutVersion = new HashSet<String>();
-        Set<String> featureList = new HashSet<String>();
+        FeatureManagerState state = new FeatureManagerState(domDocument, includedFeatures);
         // Search for duplicate features
         // or features that do not exist
         List<DOMNode> features = featureManager.getChildren();
@@ -160,7 +186,7 @@ public class LibertyDiagnosticParticipant implements IDiagnosticsParticipant {
             // check for platform element
             if (LibertyConstants.PLATFORM_ELEMENT.equals(featureNode.getLocalName())) {
                 if (featureTextNodeNotEmpty(featureTextNode)) {
-                    validatePlatform(domDocument, list, featureTextNode, preferredPlatformsWithoutVersion, preferredPlatforms);
+                    validatePlatform(state, list, featureTextNode);
                 } else {
                     // empty platform validation
                     Range range = XMLPositionUtility.createRange(featureNode.getStart(), featureNode.getEnd(),
@@ -170,7 +196,11 @@ public class LibertyDiagnosticParticipant implements IDiagnosticsParticipant {
                 }
             } else if (LibertyConstants.FEATURE_ELEMENT.equals(featureNode.getLocalName())) {
                 if (featureTextNodeNotEmpty(featureTextNode)) {
-                    validateFeature(domDocument, list, includedFeatures, featureTextNode, libertyVersion, libertyRuntime, requestDelay, versionedFeatures, versionlessFeatures, featuresWithoutVersions, featureList);
+                    String featureName = featureTextNode.getTextContent().trim();
+                    if (!featureName.isEmpty()) {
+                        state.featureNodes.putIfAbsent(featureName, featureNode);
+                    }
+                    validateFeature(state, list, featureTextNode);
                 } else {
                     // check for empty feature node
                     Range range = XMLPositionUtility.createRange(featureNode.getStart(), featureNode.getEnd(),
@@ -180,10 +210,13 @@ public class LibertyDiagnosticParticipant implements IDiagnosticsParticipant {
                 }
             }
         }
-        checkForPlatFormAndFeature(domDocument, list, versionlessFeatures, features, preferredPlatforms, versionedFeatures);
+        // versionless features can only be resolved once all versioned features and platforms are known
+        for (DOMNode versionLessFeatureTextNode : state.versionlessFeatureNodes) {
+            validateVersionLessFeatures(state, list, versionLessFeatureTextNode, versionLessFeatureTextNode.getTextContent().trim());
+        }
 
         // Feature compatibility validation
-        validateFeatureCompatibility(versionedFeatures, domDocument, list, libertyVersion, libertyRuntime, requestDelay, features);
+        validateFeatureCompatibility(state, list);
     }
 
     /**
@@ -195,19 +228,19 @@ public class LibertyDiagnosticParticipant implements IDiagnosticsParticipant {
         return featureTextNode != null && featureTextNode.getTextContent() != null && !StringUtils.isEmpty(featureTextNode.getTextContent());
     }
 
-    private void validateFeature(DOMDocument domDocument, List<Diagnostic> list, Set<String> includedFeatures, DOMNode featureTextNode, String libertyVersion, String libertyRuntime, int requestDelay, Set<String> versionedFeatures, Set<String> versionlessFeatures, Set<String> featuresWithoutVersions, Set<String> featureList) {
+    private void validateFeature(FeatureManagerState state, List<Diagnostic> list, DOMNode featureTextNode) {
         // skip nodes that do not have any text value (ie. comments)
         if (featureTextNode != null && featureTextNode.getTextContent() != null) {
             String featureName = featureTextNode.getTextContent().trim();
             // if the feature is not a user defined feature and the feature does not exist in the list of
             // supported features show a "Feature does not exist" diagnostic
-            if (!featureName.startsWith("usr:") && !FeatureService.getInstance().featureExists(featureName, libertyVersion, libertyRuntime, requestDelay, domDocument.getDocumentURI())) {
+            if (!featureName.startsWith("usr:") && !FeatureService.getInstance().featureExists(featureName, state.libertyVersion, state.libertyRuntime, state.requestDelay, state.domDocument.getDocumentURI())) {
                 Range range = XMLPositionUtility.createRange(featureTextNode.getStart(), featureTextNode.getEnd(),
-                        domDocument);
+                        state.domDocument);
                 String message = ResourceBundleUtil.getMessage(ResourceBundleMappingConstants.ERR_FEATURE_NOT_EXIST, featureName);
                 list.add(new Diagnostic(range, message, DiagnosticSeverity.Error, LIBERTY_LEMMINX_SOURCE, INCORRECT_FEATURE_CODE));
             } else {
-                checkForFeatureUniqueness(domDocument, list, includedFeatures, featureTextNode, versionedFeatures, versionlessFeatures, featuresWithoutVersions, featureName, featureList);
+                checkForFeatureUniqueness(state, list, featureTextNode, featureName);
             }
         }
     }
@@ -216,75 +249,59 @@ public class LibertyDiagnosticParticipant implements IDiagnosticsParticipant {
      * check whether feature name is unique
      * throw error if another version of same feature exists as well
      *
-     * @param domDocument
+     * @param state
      * @param list
-     * @param includedFeatures
      * @param featureTextNode
-     * @param versionedFeatures
-     * @param versionlessFeatures
-     * @param featuresWithoutVersions
      * @param featureName
-     * @param featureList
      */
-    private void checkForFeatureUniqueness(DOMDocument domDocument, List<Diagnostic> list, Set<String> includedFeatures, DOMNode featureTextNode, Set<String> versionedFeatures, Set<String> versionlessFeatures, Set<String> featuresWithoutVersions, String featureName, Set<String> featureList) {
+    private void checkForFeatureUniqueness(FeatureManagerState state, List<Diagnostic> list, DOMNode featureTextNode, String featureName) {
         String featureNameLower = featureName.toLowerCase();
         String featureNameNoVersionLower;
         if(featureNameLower.contains("-")){
             featureNameNoVersionLower = featureNameLower.substring(0,
                     featureNameLower.lastIndexOf("-"));
-            versionedFeatures.add(featureName);
+            state.versionedFeatures.add(featureName);
         }else{
             featureNameNoVersionLower = featureNameLower;
-            versionlessFeatures.add(featureName);
+            state.versionlessFeatures.add(featureName);
+            state.versionlessFeatureNodes.add(featureTextNode);
         }
         String featureNameNoVersion = LibertyUtils.stripVersion(featureName);
-        Map<String, String> changedFeatureNameMapLower = LibertyConstants.changedFeatureNameMap.entrySet().parallelStream().collect(
-                Collectors.toMap(entry -> entry.getKey().toLowerCase(),
-                        entry -> entry.getValue().toLowerCase()));
-        Map<String, String> changedFeatureNameMapLowerReversed =
-                changedFeatureNameMapLower.entrySet()
-                        .stream()
-                        .collect(Collectors.toMap(Map.Entry::getValue, Map.Entry::getKey));
-        Set<String> featuresWithOldNames = featuresWithoutVersions.stream().map(
-                        v -> changedFeatureNameMapLower.get(v + "-"))
-                .filter(Objects::nonNull)
-                .collect(Collectors.toSet());
-        Set<String> featuresWithChangedNames = featuresWithoutVersions.stream().map(
-                        v -> changedFeatureNameMapLowerReversed.get(v + "-"))
-                .filter(Objects::nonNull)
-                .collect(Collectors.toSet());
+        // the old name of this feature if it was renamed, and the new name if this is the old name
+        String oldFeatureNameLower = LibertyConstants.changedFeatureNamesLowerCaseReversed.get(featureNameNoVersionLower);
+        String newFeatureNameLower = LibertyConstants.changedFeatureNamesLowerCase.get(featureNameNoVersionLower);
         // if this exact feature already exists, or another version of this feature already exists, then show a diagnostic
-        if (includedFeatures.contains(featureNameLower)) {
+        if (state.includedFeatures.contains(featureNameLower)) {
             Range range = XMLPositionUtility.createRange(featureTextNode.getStart(),
-                    featureTextNode.getEnd(), domDocument);
+                    featureTextNode.getEnd(), state.domDocument);
             String message = ResourceBundleUtil.getMessage(ResourceBundleMappingConstants.ERR_FEATURE_ALREADY_INCLUDED, featureName);
             list.add(new Diagnostic(range, message, DiagnosticSeverity.Error, LIBERTY_LEMMINX_SOURCE));
-        } else if (featuresWithoutVersions.contains(featureNameNoVersionLower)) {
+        } else if (state.featuresWithoutVersions.contains(featureNameNoVersionLower)) {
             Range range = XMLPositionUtility.createRange(featureTextNode.getStart(),
-                    featureTextNode.getEnd(), domDocument);
+                    featureTextNode.getEnd(), state.domDocument);
             String message = ResourceBundleUtil.getMessage(ResourceBundleMappingConstants.ERR_FEATURE_MULTIPLE_VERSIONS, featureNameNoVersion);
             list.add(new Diagnostic(range, message, DiagnosticSeverity.Error, LIBERTY_LEMMINX_SOURCE));
-        } else if (featuresWithOldNames.contains(featureNameNoVersionLower + "-")) {
-            String otherFeatureName = getOtherFeatureName(featureList, changedFeatureNameMapLowerReversed, featureNameNoVersionLower);
+        } else if (oldFeatureNameLower != null && state.featuresWithoutVersions.contains(oldFeatureNameLower)) {
+            String otherFeatureName = getOtherFeatureName(state.featureList, oldFeatureNameLower);
             //check for features whose name is changed such as jsp is changed to pages
             Range range = XMLPositionUtility.createRange(featureTextNode.getStart(),
-                    featureTextNode.getEnd(), domDocument);
+                    featureTextNode.getEnd(), state.domDocument);
             String message = ResourceBundleUtil.getMessage(ResourceBundleMappingConstants.ERR_FEATURE_NAME_CHANGED, featureName, otherFeatureName,
                     LibertyUtils.stripVersion(otherFeatureName),
                     LibertyUtils.stripVersion(featureName));
             list.add(new Diagnostic(range, message, DiagnosticSeverity.Error, LIBERTY_LEMMINX_SOURCE));
-        } else if (featuresWithChangedNames.contains(featureNameNoVersionLower + "-")) {
-            String otherFeatureName = getOtherFeatureName(featureList, changedFeatureNameMapLower, featureNameNoVersionLower);
+        } else if (newFeatureNameLower != null && state.featuresWithoutVersions.contains(newFeatureNameLower)) {
+            String otherFeatureName = getOtherFeatureName(state.featureList, newFeatureNameLower);
             Range range = XMLPositionUtility.createRange(featureTextNode.getStart(),
-                    featureTextNode.getEnd(), domDocument);
+                    featureTextNode.getEnd(), state.domDocument);
             String message = ResourceBundleUtil.getMessage(ResourceBundleMappingConstants.ERR_FEATURE_NAME_CHANGED, featureName, otherFeatureName,
                     LibertyUtils.stripVersion(featureName),
                     LibertyUtils.stripVersion(otherFeatureName));
             list.add(new Diagnostic(range, message, DiagnosticSeverity.Error, LIBERTY_LEMMINX_SOURCE));
         }
-        includedFeatures.add(featureNameLower);
-        featureList.add(featureName);
-        featuresWithoutVersions.add(featureNameNoVersionLower);
+        state.includedFeatures.add(featureNameLower);
+        state.featureList.add(featureName);
+        state.featuresWithoutVersions.add(featureNameNoVersionLower);
     }
 
     /**
@@ -317,12 +334,9 @@ public class LibertyDiagnosticParticipant implements IDiagnosticsParticipant {
         }
 
         File docParentFile = LibertyUtils.getDocumentAsFile(domDocument).getParentFile();
-        File configFile = new File(docParentFile, locAttribute);
-        if (!configFile.exists()) {
-            configFile = new File(locAttribute);
-        }
+        File configFile = LibertyUtils.resolveIncludeLocation(docParentFile, locAttribute);
         try {
-            if (!configFile.exists()) {
+            if (!FileStatCache.getInstance().exists(configFile)) {
                 DOMAttr optNode = node.getAttributeNode("optional");
                 if (optNode == null) {
                     String message = ResourceBundleUtil.getMessage(ResourceBundleMappingConstants.ERR_IMPLICIT_NOT_OPTIONAL_MESSAGE);
@@ -351,10 +365,10 @@ public class LibertyDiagnosticParticipant implements IDiagnosticsParticipant {
      * @param diagnosticsList
      */
     private void validateFileOrDirIncludeLocation(File f, boolean isLibertyDirectory, Range range, List<Diagnostic> diagnosticsList) {
-        if (f.isFile() && isLibertyDirectory) {
+        if (FileStatCache.getInstance().isFile(f) && isLibertyDirectory) {
             String message = ResourceBundleUtil.getMessage(ResourceBundleMappingConstants.ERR_SPECIFIED_DIR_IS_FILE);
             diagnosticsList.add(new Diagnostic(range, message, DiagnosticSeverity.Error, LIBERTY_LEMMINX_SOURCE, IS_FILE_NOT_DIR_CODE));
-        } else if (f.isDirectory() && !isLibertyDirectory) {
+        } else if (FileStatCache.getInstance().isDirectory(f) && !isLibertyDirectory) {
             String message = ResourceBundleUtil.getMessage(ResourceBundleMappingConstants.ERR_SPECIFIED_FILE_IS_DIR);
             diagnosticsList.add(new Diagnostic(range, message, DiagnosticSeverity.Error, LIBERTY_LEMMINX_SOURCE, Is_DIR_NOT_FILE_CODE));
         }
@@ -380,29 +394,56 @@ public class LibertyDiagnosticParticipant implements IDiagnosticsParticipant {
     /**
      * Compare the required feature set with included feature set for each config element.
      * @param diagnosticsList
-     * @param tempDiagnosticsList
+     * @param configElementNodes
+     * @param includeLocations location attributes of the include elements of the document
      * @param featureGraph
+     * @param pass section cache pass of the document
      */
-    private void validateConfigElements(DOMDocument domDocument, List<Diagnostic> diagnosticsList, List<Diagnostic> tempDiagnosticsList, 
-                                        FeatureListGraph featureGraph, Set<String> includedFeatures, boolean featureManagerPresent) {
+    private void validateConfigElements(DOMDocument domDocument, List<Diagnostic> diagnosticsList, List<DOMNode> configElementNodes,
+                                        List<String> includeLocations, FeatureListGraph featureGraph, Set<String> includedFeatures, boolean featureManagerPresent,
+                                        DiagnosticsSectionCache.Pass pass) {
         if (featureGraph.isEmpty()) {
             return;
         }
+        if (configElementNodes.isEmpty()) {
+            return;
+        }
+        // features enabled by the included files and configDropins apply to the config elements of this document too,
+        // so a document without a featureManager that includes one is validated against the included features
+        Set<String> featuresOfIncludes = IncludeGraphService.getInstance().getIncludedFeatures(domDocument, includeLocations);
+        if (includedFeatures.isEmpty() && !featureManagerPresent && featuresOfIncludes.isEmpty()) {
+            LOGGER.warning("No featureManager element found in document. Config element validation for missing features disabled for this document: " + domDocument.getDocumentURI());
+            return;
+        }
+        Set<String> enabledFeatures = includedFeatures;
+        if (!includedFeatures.containsAll(featuresOfIncludes)) {
+            Set<String> features = new HashSet<>(includedFeatures);
+            features.addAll(featuresOfIncludes);
+            enabledFeatures = Collections.unmodifiableSet(features);
+        }
+        Set<String> allFeatures = enabledFeatures;
+        for (DOMNode configElementNode : configElementNodes) {
+            pass.validate(configElementNode, allFeatures, diagnosticsList, list -> {
+                validateConfigElement(domDocument, list, configElementNode, featureGraph, allFeatures);
+                return null;
+            });
+        }
+    }
+
+    private void validateConfigElement(DOMDocument domDocument, List<Diagnostic> diagnosticsList, DOMNode configElementNode,
+                                       FeatureListGraph featureGraph, Set<String> includedFeatures) {
+        List<Diagnostic> tempDiagnosticsList = new ArrayList<>();
+        holdConfigElement(domDocument, configElementNode, tempDiagnosticsList);
+        Diagnostic tempDiagnostic = tempDiagnosticsList.get(0);
         if (includedFeatures.isEmpty()) {
-            if (featureManagerPresent) {
-                diagnosticsList.addAll(tempDiagnosticsList);
-            } else {
-                LOGGER.warning("No featureManager element found in document. Config element validation for missing features disabled for this document: " + domDocument.getDocumentURI());
-            }
+            diagnosticsList.add(tempDiagnostic);
             return;
         }
-        for (Diagnostic tempDiagnostic : tempDiagnosticsList) {
-            String configElement = tempDiagnostic.getSource();
-            Set<String> compatibleFeaturesList = featureGraph.getAllEnabledBy(configElement);
-            Set<String> includedFeaturesCopy = getCompatibleFeatures(includedFeatures, compatibleFeaturesList);
-            if (includedFeaturesCopy.isEmpty()) {
-                diagnosticsList.add(tempDiagnostic);
-            }
+        String configElement = tempDiagnostic.getSource();
+        Set<String> compatibleFeaturesList = featureGraph.getAllEnabledBy(configElement);
+        Set<String> includedFeaturesCopy = getCompatibleFeatures(includedFeatures, compatibleFeaturesList);
+        if (includedFeaturesCopy.isEmpty()) {
+            diagnosticsList.add(tempDiagnostic);
         }
     }
 
@@ -428,26 +469,21 @@ public class LibertyDiagnosticParticipant implements IDiagnosticsParticipant {
      *      2) if platform is already included
      *      3) if another version of same platform is included
      *      4) if any conflicting platform is included. for eg, j2ee and jakartaee are conflicting
-     * @param domDocument xml document
+     * @param state validation state of the featureManager
      * @param list diagnostics list
      * @param featureTextNode current feature manager node
-     * @param preferredPlatformsWithoutVersion platforms in xml without version
-     * @param preferredPlatforms platforms in xml
      */
-    private void validatePlatform(DOMDocument domDocument, List<Diagnostic> list, DOMNode featureTextNode, Set<String> preferredPlatformsWithoutVersion,
-                                         Set<String> preferredPlatforms) {
-        LibertyRuntime runtimeInfo = LibertyUtils.getLibertyRuntimeInfo(domDocument);
-        String libertyVersion = runtimeInfo == null ? null : runtimeInfo.getRuntimeVersion();
-        String libertyRuntime = runtimeInfo == null ? null : runtimeInfo.getRuntimeType();
-
-        final int requestDelay = SettingsService.getInstance().getRequestDelay();
+    private void validatePlatform(FeatureManagerState state, List<Diagnostic> list, DOMNode featureTextNode) {
+        DOMDocument domDocument = state.domDocument;
+        Set<String> preferredPlatformsWithoutVersion = state.preferredPlatformsWithoutVersion;
+        Set<String> preferredPlatforms = state.preferredPlatforms;
 
             String platformName = featureTextNode.getTextContent().trim();
             String platformNameLowerCase = platformName.toLowerCase();
             String platformNoVersionLower = platformNameLowerCase.contains("-") ? platformNameLowerCase.substring(0, platformNameLowerCase.lastIndexOf("-"))
                     : platformNameLowerCase;
 
-            if (!FeatureService.getInstance().platformExists(platformName, libertyVersion, libertyRuntime, requestDelay, domDocument.getDocumentURI())) {
+            if (!FeatureService.getInstance().platformExists(platformName, state.libertyVersion, state.libertyRuntime, state.requestDelay, domDocument.getDocumentURI())) {
                 Range range = XMLPositionUtility.createRange(featureTextNode.getStart(), featureTextNode.getEnd(),
                         domDocument);
                 String message = ResourceBundleUtil.getMessage(ResourceBundleMappingConstants.ERR_PLATFORM_NOT_EXIST, platformName);
@@ -515,33 +551,6 @@ public class LibertyDiagnosticParticipant implements IDiagnosticsParticipant {
         return Collections.emptySet();
     }
 
-
-    /**
-     * check for a combination of validations using preferred platforms and selected features
-     *
-     * @param domDocument
-     * @param list
-     * @param versionlessFeatures
-     * @param features
-     * @param preferredPlatforms
-     * @param versionedFeatures
-     */
-    private void checkForPlatFormAndFeature(DOMDocument domDocument, List<Diagnostic> list, Set<String> versionlessFeatures, List<DOMNode> features, Set<String> preferredPlatforms, Set<String> versionedFeatures) {
-
-        for (DOMNode featureNode : features) {
-            DOMNode featureTextNode = (DOMNode) featureNode.getChildNodes().item(0);
-            if (LibertyConstants.FEATURE_ELEMENT.equals(featureNode.getLocalName())
-                    && featureTextNode != null && featureTextNode.getTextContent() != null) {
-                String featureName = featureTextNode.getTextContent().trim();
-                if (versionlessFeatures.contains(featureName)) {
-                    // versionless feature
-                    validateVersionLessFeatures(domDocument, list, preferredPlatforms, versionedFeatures, featureTextNode, featureName);
-                }
-            }
-
-        }
-    }
-
     /**
      * check for versionless feature version identification
      *      1) if versionless feature is specified and no versioned feature or platform is specified, throw error
@@ -560,27 +569,22 @@ public class LibertyDiagnosticParticipant implements IDiagnosticsParticipant {
      *          check common platforms is present in feature platforms
      *          throw error if not found
      *
-     * @param domDocument
+     * @param state
      * @param list
-     * @param preferredPlatforms
-     * @param versionedFeatures
      * @param versionLessFeatureTextNode
      * @param featureName
      */
-    private void validateVersionLessFeatures(DOMDocument domDocument, List<Diagnostic> list, Set<String> preferredPlatforms, Set<String> versionedFeatures,DOMNode versionLessFeatureTextNode, String featureName) {
-        LibertyRuntime runtimeInfo = LibertyUtils.getLibertyRuntimeInfo(domDocument);
-        String libertyVersion = runtimeInfo == null ? null : runtimeInfo.getRuntimeVersion();
-        String libertyRuntime = runtimeInfo == null ? null : runtimeInfo.getRuntimeType();
-
-        final int requestDelay = SettingsService.getInstance().getRequestDelay();
+    private void validateVersionLessFeatures(FeatureManagerState state, List<Diagnostic> list, DOMNode versionLessFeatureTextNode, String featureName) {
+        DOMDocument domDocument = state.domDocument;
+        Set<String> versionedFeatures = state.versionedFeatures;
+        Set<String> preferredPlatforms = state.preferredPlatforms;
         if (versionedFeatures.isEmpty() && preferredPlatforms.isEmpty()) {
             Range range = XMLPositionUtility.createRange(versionLessFeatureTextNode.getStart(),
                     versionLessFeatureTextNode.getEnd(), domDocument);
             String message = ResourceBundleUtil.getMessage(ResourceBundleMappingConstants.ERR_VERSIONLESS_FEATURE_NO_PLATFORM_OR_FEATURE, featureName);
             list.add(new Diagnostic(range, message, DiagnosticSeverity.Error, LIBERTY_LEMMINX_SOURCE, INCORRECT_FEATURE_CODE));
         } else if (!versionedFeatures.isEmpty() && preferredPlatforms.isEmpty()) {
-            Set<String> commonPlatforms = FeatureService.getInstance()
-                    .getCommonPlatformsForFeatures(versionedFeatures, libertyVersion, libertyRuntime, requestDelay, domDocument.getDocumentURI());
+            Set<String> commonPlatforms = state.getCommonPlatformsOfVersionedFeatures();
             if (commonPlatforms == null ||
                     commonPlatforms.isEmpty()) {
                 Range range = XMLPositionUtility.createRange(versionLessFeatureTextNode.getStart(), versionLessFeatureTextNode.getEnd(),
@@ -595,24 +599,20 @@ public class LibertyDiagnosticParticipant implements IDiagnosticsParticipant {
                 list.add(new Diagnostic(range, message, DiagnosticSeverity.Error, LIBERTY_LEMMINX_SOURCE, INCORRECT_FEATURE_CODE));
             }
             else{
-                checkForVersionlessPlatforms(domDocument, list, commonPlatforms, versionLessFeatureTextNode, featureName, false);
+                checkForVersionlessPlatforms(state, list, commonPlatforms, versionLessFeatureTextNode, featureName, false);
             }
         }
         if (!preferredPlatforms.isEmpty()) {
-            checkForVersionlessPlatforms(domDocument, list, preferredPlatforms, versionLessFeatureTextNode, featureName,true);
+            checkForVersionlessPlatforms(state, list, preferredPlatforms, versionLessFeatureTextNode, featureName,true);
         }
     }
 
 
-    private void checkForVersionlessPlatforms(DOMDocument domDocument,
+    private void checkForVersionlessPlatforms(FeatureManagerState state,
                                               List<Diagnostic> list, Set<String> platformsToCompare,
                                               DOMNode versionLessFeatureTextNode, String featureName, boolean isPlatformFromXml) {
-        LibertyRuntime runtimeInfo = LibertyUtils.getLibertyRuntimeInfo(domDocument);
-        String libertyVersion = runtimeInfo == null ? null : runtimeInfo.getRuntimeVersion();
-        String libertyRuntime = runtimeInfo == null ? null : runtimeInfo.getRuntimeType();
-        final int requestDelay = SettingsService.getInstance().getRequestDelay();
         Set<String> allPlatforrmsForVersionLess = FeatureService.getInstance()
-                .getAllPlatformsForVersionLessFeature(featureName, libertyVersion, libertyRuntime, requestDelay, domDocument.getDocumentURI());
+                .getAllPlatformsForVersionLessFeature(featureName, state.libertyVersion, state.libertyRuntime, state.requestDelay, state.domDocument.getDocumentURI());
         if (Sets.intersection(allPlatforrmsForVersionLess, platformsToCompare).isEmpty()) {
             String message;
             if (isPlatformFromXml) {
@@ -621,7 +621,7 @@ public class LibertyDiagnosticParticipant implements IDiagnosticsParticipant {
                 message = ResourceBundleUtil.getMessage(ResourceBundleMappingConstants.ERR_VERSIONLESS_FEATURE_NO_SUPPORTED_PLATFORM, featureName);
             }
             Range range = XMLPositionUtility.createRange(versionLessFeatureTextNode.getStart(), versionLessFeatureTextNode.getEnd(),
-                    domDocument);
+                    state.domDocument);
             list.add(new Diagnostic(range, message, DiagnosticSeverity.Error, LIBERTY_LEMMINX_SOURCE, INCORRECT_FEATURE_CODE));
         }
     }
@@ -629,15 +629,13 @@ public class LibertyDiagnosticParticipant implements IDiagnosticsParticipant {
     /**
      * Get conflicting featurename for any feature
      * @param includedFeatures
-     * @param changedFeatureNameMap
-     * @param featureNameNoVersionLower
+     * @param otherFeatureNameNoVersionLower lower case name without version of the renamed feature
      * @return
      */
-    private static String getOtherFeatureName(Set<String> includedFeatures, Map<String, String> changedFeatureNameMapLowerReversed, String featureNameNoVersionLower) {
-        String otherFeatureNameWithoutVersion = changedFeatureNameMapLowerReversed.get(featureNameNoVersionLower + "-");
+    private static String getOtherFeatureName(Set<String> includedFeatures, String otherFeatureNameNoVersionLower) {
         String otherFeatureName = includedFeatures
                 .stream()
-                .filter(f -> f.toLowerCase().contains(LibertyUtils.stripVersion(otherFeatureNameWithoutVersion)))
+                .filter(f -> f.toLowerCase().contains(otherFeatureNameNoVersionLower))
                 .findFirst().orElse(null);
         return otherFeatureName;
     }
@@ -722,17 +720,11 @@ public class LibertyDiagnosticParticipant implements IDiagnosticsParticipant {
      * Validates feature compatibility by checking if features share common platforms
      * within each platform type (Java EE, Jakarta EE, MicroProfile).
      *
-     * @param versionedFeatures List of versioned feature names
-     * @param domDocument The DOM document (server.xml)
+     * @param state Validation state of the featureManager
      * @param diagnosticsList List to add diagnostics to
-     * @param libertyVersion Liberty version
-     * @param libertyRuntime Liberty runtime
-     * @param requestDelay Request delay for feature service
-     * @param featureNodesList List of feature nodes
      */
-    private void validateFeatureCompatibility(Set<String> versionedFeatures, DOMDocument domDocument, List<Diagnostic> diagnosticsList,
-                                              String libertyVersion, String libertyRuntime, int requestDelay,
-                                              List<DOMNode> featureNodesList) {
+    private void validateFeatureCompatibility(FeatureManagerState state, List<Diagnostic> diagnosticsList) {
+        Set<String> versionedFeatures = state.versionedFeatures;
         if (versionedFeatures == null || versionedFeatures.size() <= 1) {
             return; // Need at least two features to check compatibility
         }
@@ -741,81 +733,49 @@ public class LibertyDiagnosticParticipant implements IDiagnosticsParticipant {
         Set<String> eeFeatures = new HashSet<>(); // Features that support JavaEE/JakartaEE
         Set<String> mpFeatures = new HashSet<>(); // Features that support MicroProfile
 
-        // Map to store feature nodes
-        Map<String, DOMNode> featureNodesMap = new HashMap<>();
-        
-        // Convert feature nodes list to a map of feature names to nodes
-        if (featureNodesList != null) {
-            featureNodesList.stream()
-                    .filter(node -> "feature".equals(node.getLocalName()) && node.getChildNodes().getLength() > 0)
-                    .forEach(node -> {
-                        String featureName = node.getChildNodes().item(0).getTextContent();
-                        if (featureName != null && !featureName.trim().isEmpty()) {
-                            featureNodesMap.putIfAbsent(featureName.trim(), node);
-                        }
-                    });
-        }
-
         // Categorize features by platform type
+        PlatformIndex platformIndex = FeatureService.getInstance()
+                .getFeaturesAndPlatforms(state.libertyVersion, state.libertyRuntime, state.requestDelay, state.domDocument.getDocumentURI()).getPlatformIndex();
         for (String feature : versionedFeatures) {
-            Set<String> platforms = FeatureService.getInstance().getAllPlatformsForFeature(feature, libertyVersion, libertyRuntime, requestDelay, domDocument.getDocumentURI());
-            
-            if (platforms == null || platforms.isEmpty()) {
-                continue;
-            }
-
             // Check if feature supports any JavaEE/JakartaEE platform
-            boolean supportsEE = platforms.stream()
-                    .anyMatch(platform -> platform.toLowerCase().startsWith("javaee-") || 
-                                         platform.toLowerCase().startsWith("jakartaee-"));
-            
-            // Check if feature supports any MicroProfile platform
-            boolean supportsMP = platforms.stream()
-                    .anyMatch(platform -> platform.toLowerCase().startsWith("microprofile-"));
-
-            if (supportsEE) {
+            if (platformIndex.supportsEEPlatform(feature)) {
                 eeFeatures.add(feature);
             }
-            
-            if (supportsMP) {
+
+            // Check if feature supports any MicroProfile platform
+            if (platformIndex.supportsMicroProfilePlatform(feature)) {
                 mpFeatures.add(feature);
             }
         }
 
         // Validate compatibility within each platform type
-        validatePlatformTypeCompatibility(eeFeatures, featureNodesMap, diagnosticsList, libertyVersion, libertyRuntime, requestDelay, domDocument);
-        validatePlatformTypeCompatibility(mpFeatures, featureNodesMap, diagnosticsList, libertyVersion, libertyRuntime, requestDelay, domDocument);
+        validatePlatformTypeCompatibility(state, eeFeatures, diagnosticsList);
+        validatePlatformTypeCompatibility(state, mpFeatures, diagnosticsList);
     }
 
     /**
      * Validates compatibility of features within a specific platform type.
      *
+     * @param state Validation state of the featureManager
      * @param features Set of feature names in this platform type
-     * @param featureNodesMap Map of feature names to their DOM nodes
      * @param diagnosticsList List to add diagnostics to
-     * @param libertyVersion Liberty version
-     * @param libertyRuntime Liberty runtime
-     * @param requestDelay Request delay for feature service
-     * @param domDocument The DOM document
      */
-    private void validatePlatformTypeCompatibility(Set<String> features, Map<String, DOMNode> featureNodesMap, 
-                                                  List<Diagnostic> diagnosticsList,
-                                                  String libertyVersion, String libertyRuntime, int requestDelay,
-                                                  DOMDocument domDocument) {
+    private void validatePlatformTypeCompatibility(FeatureManagerState state, Set<String> features,
+                                                  List<Diagnostic> diagnosticsList) {
         if (features.size() <= 1) {
             // Only one or zero features of this type, no compatibility issues
             return;
         }
 
         // Find common platforms across all features in this platform type
-        Set<String> commonPlatforms = FeatureService.getInstance().getCommonPlatformsForFeatures(features, libertyVersion, libertyRuntime, requestDelay, domDocument.getDocumentURI());
+        Set<String> commonPlatforms = FeatureService.getInstance().getCommonPlatformsForFeatures(features, state.libertyVersion, state.libertyRuntime, state.requestDelay, state.domDocument.getDocumentURI());
 
         if (commonPlatforms == null || commonPlatforms.isEmpty()) {
             // No common platform version - incompatible features
 
             // Create diagnostic warning for each incompatible feature
             for (String featureName : features) {
-                DOMNode featureNode = featureNodesMap.get(featureName);
+                DOMNode featureNode = state.featureNodes.get(featureName);
                 DOMNode featureTextNode = (DOMNode) featureNode.getChildNodes().item(0);
                 
                 String otherFeatures = features.stream()
@@ -824,7 +784,7 @@ public class LibertyDiagnosticParticipant implements IDiagnosticsParticipant {
                 
                 String message = ResourceBundleUtil.getMessage(ResourceBundleMappingConstants.ERR_INCOMPATIBLE_FEATURES, featureName, otherFeatures);
 
-                Range range = XMLPositionUtility.createRange(featureTextNode.getStart(), featureTextNode.getEnd(), domDocument);
+                Range range = XMLPositionUtility.createRange(featureTextNode.getStart(), featureTextNode.getEnd(), state.domDocument);
                 if (range == null) continue;
 
                 Diagnostic diagnostic = new Diagnostic(range, message, DiagnosticSeverity.Error, LIBERTY_LEMMINX_SOURCE);
@@ -832,4 +792,51 @@ public class LibertyDiagnosticParticipant implements IDiagnosticsParticipant {
             }
         }
     }
+
+    /**
+     * Scratch state of the validation of a single featureManager element, shared by the checks of its
+     * features and platforms so that the element is walked once and the runtime is looked up once.
+     */
+    private static final class FeatureManagerState {
+        final DOMDocument domDocument;
+        final String libertyVersion;
+        final String libertyRuntime;
+        final int requestDelay;
+        // lower case names of the features included so far, including those of earlier featureManager elements
+        final Set<String> includedFeatures;
+        final Set<String> featuresWithoutVersions = new HashSet<>();
+        final Set<String> versionlessFeatures = new HashSet<>();
+        final Set<String> versionedFeatures = new HashSet<>();
+        final Set<String> preferredPlatforms = new HashSet<>();
+        final Set<String> preferredPlatformsWithoutVersion = new HashSet<>();
+        final Set<String> featureList = new HashSet<>();
+        // text nodes of the versionless features that exist, in document order
+        final List<DOMNode> versionlessFeatureNodes = new ArrayList<>();
+        // first feature node of each feature name
+        final Map<String, DOMNode> featureNodes = new HashMap<>();
+        private Set<String> commonPlatforms;
+        private boolean commonPlatformsComputed;
+
+        FeatureManagerState(DOMDocument domDocument, Set<String> includedFeatures) {
+            LibertyRuntime runtimeInfo = LibertyUtils.getLibertyRuntimeInfo(domDocument);
+            this.domDocument = domDocument;
+            this.libertyVersion = runtimeInfo == null ? null : runtimeInfo.getRuntimeVersion();
+            this.libertyRuntime = runtimeInfo == null ? null : runtimeInfo.getRuntimeType();
+            this.requestDelay = SettingsService.getInstance().getRequestDelay();
+            this.includedFeatures = includedFeatures;
+        }
+
+        /**
+         * Returns the platforms common to all versioned features, computed once since they are complete before
+         * the first versionless feature is validated. May return null.
+         */
+        Set<String> getCommonPlatformsOfVersionedFeatures() {
+            if (!commonPlatformsComputed) {
+                commonPlatforms = FeatureService.getInstance()
+                        .getCommonPlatformsForFeatures(versionedFeatures, libertyVersion, libertyRuntime, requestDelay, domDocument.getDocumentURI());
+                commonPlatformsComputed = true;
+            }
+            return commonPlatforms;
+        }
+    }
 }
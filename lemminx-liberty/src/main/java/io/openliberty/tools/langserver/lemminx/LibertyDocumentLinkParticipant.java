@@ -1,5 +1,5 @@
 /*******************************************************************************
-* Copyright (c) 2022 IBM Corporation and others.
+* Copyright (c) 2022, 2025 IBM Corporation and others.
 *
 * This program and the accompanying materials are made available under the
 * terms of the Eclipse Public License v. 2.0 which is available at
@@ -12,6 +12,7 @@
 *******************************************************************************/
 package io.openliberty.tools.langserver.lemminx;
 
+import java.io.File;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -27,6 +28,7 @@ import org.eclipse.lemminx.utils.XMLPositionUtility;
 import org.eclipse.lsp4j.DocumentLink;
 import org.eclipse.lsp4j.Range;
 
+import io.openliberty.tools.langserver.lemminx.services.FileStatCache;
 import io.openliberty.tools.langserver.lemminx.util.LibertyConstants;
 import io.openliberty.tools.langserver.lemminx.util.LibertyUtils;
 
@@ -56,7 +58,7 @@ public class LibertyDocumentLinkParticipant implements IDocumentLinkParticipant
             }
             Range linkRange = XMLPositionUtility.selectAttributeValue(includeAttr);
             try {
-                String location = getResolvedLocation(document.getDocumentURI(), includeAttr.getValue());
+                String location = getResolvedLocation(document, includeAttr.getValue());
                 DocumentLink link = new DocumentLink(linkRange, location);
                 links.add(link);
             } catch (MalformedURIException e) {
@@ -65,11 +67,24 @@ public class LibertyDocumentLinkParticipant implements IDocumentLinkParticipant
         }
     }
 
-    private static String getResolvedLocation(String documentURI, String location) throws MalformedURIException {
+    /**
+     * Links to the file the include resolves to, the same way the include diagnostics resolve it, if that file
+     * exists. Otherwise links to the location relative to the document.
+     */
+    private static String getResolvedLocation(DOMDocument document, String location) throws MalformedURIException {
 		if (location == null) {
 			return null;
         }
-        return XMLEntityManager.expandSystemId(location, documentURI, false);
+        try {
+            File configFile = LibertyUtils.resolveIncludeLocation(LibertyUtils.getDocumentAsFile(document).getParentFile(), location);
+            if (FileStatCache.getInstance().isFile(configFile)) {
+                return configFile.toURI().toString();
+            }
+        } catch (IllegalArgumentException e) {
+            // not a file URI, or not a valid path
+            LOGGER.fine("Unable to resolve include location " + location + " of " + document.getDocumentURI() + ": " + e.getMessage());
+        }
+        return XMLEntityManager.expandSystemId(location, document.getDocumentURI(), false);
 	}
 
 }
\ No newline at end of file
@@ -12,9 +12,13 @@
 *******************************************************************************/
 package io.openliberty.tools.langserver.lemminx;
 
+import io.openliberty.tools.langserver.lemminx.data.LibertyRuntime;
+import io.openliberty.tools.langserver.lemminx.services.FeatureService;
 import io.openliberty.tools.langserver.lemminx.services.FileWatchService;
 import io.openliberty.tools.langserver.lemminx.services.LibertyWorkspace;
+import io.openliberty.tools.langserver.lemminx.util.LibertyUtils;
 import io.openliberty.tools.langserver.lemminx.util.LibertyVersionDownloadUtil;
+import org.eclipse.lemminx.dom.DOMDocument;
 import org.eclipse.lemminx.services.extensions.IDocumentLinkParticipant;
 import org.eclipse.lemminx.services.extensions.codeaction.ICodeActionParticipant;
 import org.eclipse.lemminx.services.extensions.completion.ICompletionParticipant;
@@ -31,13 +35,23 @@ import org.eclipse.lsp4j.WorkspaceFolder;
 import java.io.File;
 import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 import io.openliberty.tools.langserver.lemminx.services.LibertyProjectsManager;
 import io.openliberty.tools.langserver.lemminx.services.SettingsService;
 
+import static io.openliberty.tools.langserver.lemminx.LibertyXSDURIResolver.LIBERTY_SCHEMA_VERSION_WITH_LOCALE_XSD;
+import static io.openliberty.tools.langserver.lemminx.LibertyXSDURIResolver.LIBERTY_SCHEMA_VERSION_XSD;
+import static io.openliberty.tools.langserver.lemminx.services.FeatureService.FEATURES_JSON_URI;
+import static io.openliberty.tools.langserver.lemminx.services.FeatureService.LIBERTY_FEATURELIST_VERSION_WITH_LOCALE_XML;
+import static io.openliberty.tools.langserver.lemminx.services.FeatureService.LIBERTY_FEATURELIST_VERSION_XML;
 import static io.openliberty.tools.langserver.lemminx.util.LibertyConstants.DEFAULT_LIBERTY_VERSION;
 
 public class LibertyExtension implements IXMLExtension {
@@ -50,6 +64,9 @@ public class LibertyExtension implements IXMLExtension {
     private IDiagnosticsParticipant diagnosticsParticipant;
     private ICodeActionParticipant codeActionsParticipant;
     private IDocumentLinkParticipant documentLinkParticipant;
+    private Consumer<String> catalogLoadedListener;
+    private ExecutorService warmUpExecutor;
+    private ExecutorService revalidationExecutor;
 
     @Override
     public void start(InitializeParams initializeParams, XMLExtensionsRegistry xmlExtensionsRegistry) {
@@ -64,13 +81,6 @@ public class LibertyExtension implements IXMLExtension {
 //        This is disabled till we have globalization support in all of liberty tools
 //        SettingsService.getInstance().initializeLocale(initializeParams);
         SettingsService.getInstance().setLocale(Locale.US);
-        String latestVersion = LibertyVersionDownloadUtil.getLatestVersionFromMetadata();
-        if (latestVersion != null) {
-            LOGGER.fine("Latest Open Liberty version found: %s".formatted(latestVersion));
-            SettingsService.getInstance().setLatestRuntimeVersion(latestVersion);
-        } else {
-            LOGGER.warning("Could not determine the latest Open Liberty version. Using cached default version " + DEFAULT_LIBERTY_VERSION);
-        }
         xsdResolver = new LibertyXSDURIResolver();
         xmlExtensionsRegistry.getResolverExtensionManager().registerResolver(xsdResolver);
 
@@ -89,15 +99,87 @@ public class LibertyExtension implements IXMLExtension {
         documentLinkParticipant = new LibertyDocumentLinkParticipant();
         xmlExtensionsRegistry.registerDocumentLinkParticipant(documentLinkParticipant);
 
+        // revalidate open config files once a feature catalog fetched in the background for their runtime is loaded,
+        // on a thread of its own so that the validation does not hold up the next background fetch
+        revalidationExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "liberty-revalidation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        catalogLoadedListener = featureCacheKey -> revalidationExecutor.execute(() -> revalidateDocuments(xmlExtensionsRegistry, featureCacheKey));
+        FeatureService.getInstance().addCatalogLoadedListener(catalogLoadedListener);
+
+        // everything else is loaded in the background, participants use the defaults until it is done
+        warmUpExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "liberty-warm-up");
+            thread.setDaemon(true);
+            return thread;
+        });
+        warmUpExecutor.execute(() -> {
+            try {
+                warmUp(xmlExtensionsRegistry);
+            } catch (RuntimeException e) {
+                LOGGER.warning("Liberty warm-up failed: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Loads the workspace variables, adds the file monitors and looks up the latest Open Liberty version,
+     * logging progress as it goes. Open config files are revalidated at the end, since they may have been
+     * validated without variables or with the default schema.
+     */
+    private void warmUp(XMLExtensionsRegistry xmlExtensionsRegistry) {
+        long startTime = System.currentTimeMillis();
+        Collection<LibertyWorkspace> workspaceFolders = LibertyProjectsManager.getInstance().getLibertyWorkspaceFolders();
+
+        LOGGER.info("Liberty warm-up (1/4): loading variables for %d workspace(s)".formatted(workspaceFolders.size()));
         try {
-            SettingsService.getInstance()
-                    .populateAllVariables(LibertyProjectsManager.getInstance().getLibertyWorkspaceFolders());
+            SettingsService.getInstance().populateAllVariables(workspaceFolders);
         } catch (Exception e) {
-            throw new RuntimeException(e);
+            LOGGER.warning("Unable to load workspace variables: " + e.getMessage());
+        }
+
+        LOGGER.info("Liberty warm-up (2/4): adding file monitors");
+        addFileAlterationObservers(workspaceFolders);
+
+        LOGGER.info("Liberty warm-up (3/4): looking up the latest Open Liberty version");
+        String latestVersion = LibertyVersionDownloadUtil.getLatestVersionFromMetadata();
+        if (latestVersion != null) {
+            LOGGER.fine("Latest Open Liberty version found: %s".formatted(latestVersion));
+            SettingsService.getInstance().setLatestRuntimeVersion(latestVersion);
+        } else {
+            LOGGER.warning("Could not determine the latest Open Liberty version. Using cached default version " + DEFAULT_LIBERTY_VERSION);
+        }
+
+        LOGGER.info("Liberty warm-up (4/4): downloading the schema, feature list and features json");
+        prefetchLatestResources();
+
+        if (Thread.currentThread().isInterrupted()) {
+            return;
+        }
+        revalidateDocuments(xmlExtensionsRegistry, null);
+        LOGGER.info("Liberty warm-up completed in %d ms".formatted(System.currentTimeMillis() - startTime));
+    }
+
+    /**
+     * Downloads the resources for the latest version in parallel, so the first lookups by the
+     * resolver and the feature service find them in the cache. Does nothing without a latest version.
+     */
+    private void prefetchLatestResources() {
+        try {
+            CompletableFuture.allOf(
+                    LibertyVersionDownloadUtil.downloadAndCacheLatestResourceAsync(LIBERTY_SCHEMA_VERSION_XSD, LIBERTY_SCHEMA_VERSION_WITH_LOCALE_XSD),
+                    LibertyVersionDownloadUtil.downloadAndCacheLatestResourceAsync(LIBERTY_FEATURELIST_VERSION_XML, LIBERTY_FEATURELIST_VERSION_WITH_LOCALE_XML),
+                    LibertyVersionDownloadUtil.downloadAndCacheLatestResourceAsync(FEATURES_JSON_URI, null)).join();
+        } catch (RuntimeException e) {
+            LOGGER.warning("Unable to prefetch the latest Liberty resources: " + e.getMessage());
         }
+    }
 
+    private void addFileAlterationObservers(Collection<LibertyWorkspace> workspaceFolders) {
         // for each workspace, a file alteration observer is added
-        for (LibertyWorkspace workspace : LibertyProjectsManager.getInstance().getLibertyWorkspaceFolders()) {
+        for (LibertyWorkspace workspace : workspaceFolders) {
             // checking for any changes in wlp user folder for gradle and maven
             Path libertyUsrGradlePath = new File(workspace.getWorkspaceURI().getPath(),
                     "target").toPath();
@@ -125,9 +207,35 @@ public class LibertyExtension implements IXMLExtension {
         xmlExtensionsRegistry.unregisterHoverParticipant(hoverParticipant);
         xmlExtensionsRegistry.unregisterDiagnosticsParticipant(diagnosticsParticipant);
         xmlExtensionsRegistry.unregisterCodeActionParticipant(codeActionsParticipant);
+        FeatureService.getInstance().removeCatalogLoadedListener(catalogLoadedListener);
+        if (warmUpExecutor != null) {
+            warmUpExecutor.shutdownNow();
+        }
+        if (revalidationExecutor != null) {
+            revalidationExecutor.shutdownNow();
+        }
         FileWatchService.getInstance().cleanFileMonitors();
     }
 
+    /**
+     * Revalidates the open config files, or only those for the passed runtime-version key if it is not null.
+     */
+    private void revalidateDocuments(XMLExtensionsRegistry xmlExtensionsRegistry, String featureCacheKey) {
+        for (DOMDocument document : xmlExtensionsRegistry.getDocumentProvider().getAllDocuments()) {
+            if (!LibertyUtils.isConfigXMLFile(document)) {
+                continue;
+            }
+            if (featureCacheKey != null) {
+                LibertyRuntime runtimeInfo = LibertyUtils.getLibertyRuntimeInfo(document);
+                if (runtimeInfo == null || !featureCacheKey.equals(runtimeInfo.getRuntimeType() + "-" + runtimeInfo.getRuntimeVersion())) {
+                    continue;
+                }
+            }
+            LOGGER.fine("Revalidating " + document.getDocumentURI());
+            xmlExtensionsRegistry.getValidationService().validate(document);
+        }
+    }
+
     // Do save is called on startup with a Settings update
     // and any time the settings are updated.
     @Override
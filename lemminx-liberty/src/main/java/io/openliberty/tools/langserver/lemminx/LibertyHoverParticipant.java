@@ -12,8 +12,10 @@
 *******************************************************************************/
 package io.openliberty.tools.langserver.lemminx;
 
+import org.eclipse.lemminx.dom.DOMAttr;
 import org.eclipse.lemminx.dom.DOMDocument;
 import org.eclipse.lemminx.dom.DOMElement;
+import org.eclipse.lemminx.dom.DOMNode;
 import org.eclipse.lemminx.services.extensions.hover.IHoverParticipant;
 import org.eclipse.lemminx.services.extensions.hover.IHoverRequest;
 import org.eclipse.lsp4j.Hover;
@@ -27,6 +29,7 @@ import io.openliberty.tools.langserver.lemminx.data.LibertyRuntime;
 import io.openliberty.tools.langserver.lemminx.models.feature.*;
 import io.openliberty.tools.langserver.lemminx.services.FeatureService;
 import io.openliberty.tools.langserver.lemminx.services.SettingsService;
+import io.openliberty.tools.langserver.lemminx.services.VariableReferenceCache;
 import io.openliberty.tools.langserver.lemminx.util.*;
 
 import java.nio.file.Path;
@@ -50,7 +53,12 @@ public class LibertyHoverParticipant implements IHoverParticipant {
 
     @Override
     public Hover onAttributeValue(IHoverRequest request, CancelChecker cancelChecker) {
-        List<VariableLoc> variables = LibertyUtils.getVariablesFromTextContent(request.getXMLDocument(), request.getNode().getTextContent());
+        DOMNode node = request.getNode();
+        DOMAttr attr = node instanceof DOMAttr ? (DOMAttr) node : node.findAttrAt(request.getOffset());
+        if (attr == null) {
+            return null;
+        }
+        List<VariableLoc> variables = VariableReferenceCache.getInstance().getVariableReferences(request.getXMLDocument(), attr);
         Properties variableMap = SettingsService.getInstance()
                 .getVariablesForServerXml(request.getXMLDocument()
                         .getDocumentURI());
@@ -23,6 +23,8 @@ import java.util.Map;
 import java.util.logging.Logger;
 
 import io.openliberty.tools.langserver.lemminx.services.SettingsService;
+import io.openliberty.tools.langserver.lemminx.util.CompressedResourceUtil;
+import io.openliberty.tools.langserver.lemminx.util.InstallationCacheUtil;
 import io.openliberty.tools.langserver.lemminx.util.LibertyVersionDownloadUtil;
 import io.openliberty.tools.langserver.lemminx.util.SchemaAndFeatureListGeneratorUtil;
 import org.eclipse.lemminx.uriresolver.CacheResourcesManager;
@@ -133,10 +135,12 @@ public class LibertyXSDURIResolver implements URIResolverExtension, IExternalGra
                 return CacheResourcesManager.getResourceCachePath(SERVER_XSD_RESOURCE_DEFAULT);
             }
             try {
+                String xsdClasspathLocation = XSD_CLASSPATH_LOCATION.formatted(SettingsService.getInstance().getCurrentLocale().toString());
                 SERVER_XSD_RESOURCE = new ResourceToDeploy(XSD_RESOURCE_URL.formatted(SettingsService.getInstance().getCurrentLocale().toString()),
-                        XSD_CLASSPATH_LOCATION.formatted(SettingsService.getInstance().getCurrentLocale().toString()));
+                        xsdClasspathLocation);
                 LOGGER.info("Using Locale %s to find xsd resource in %s".formatted(SettingsService.getInstance().getCurrentLocale(), SERVER_XSD_RESOURCE));
-                serverXSDFile = CacheResourcesManager.getResourceCachePath(SERVER_XSD_RESOURCE);
+                // localized schemas are stored compressed, only the one for the current locale is extracted
+                serverXSDFile = CompressedResourceUtil.getResourceCachePath(SERVER_XSD_RESOURCE, xsdClasspathLocation);
             } catch (Exception exception) {
                 LOGGER.warning("Unable to find localized xsd resource using current locale %s. Using default xsd resource located in %s".formatted(SettingsService.getInstance().getCurrentLocale(), SERVER_XSD_RESOURCE_DEFAULT));
                 serverXSDFile = CacheResourcesManager.getResourceCachePath(SERVER_XSD_RESOURCE_DEFAULT);
@@ -179,22 +183,33 @@ public class LibertyXSDURIResolver implements URIResolverExtension, IExternalGra
         }
 
         if (!xsdDestFile.exists()) {
-            try {
-                String xsdDestPath = xsdDestFile.getCanonicalPath();
-
-                LOGGER.info("Generating schema file at: " + xsdDestPath);
-
-                SchemaAndFeatureListGeneratorUtil.generateFile(
-                        SchemaAndFeatureListGeneratorUtil.ProcessType.SCHEMA,
-                        tempDir.toPath(),
-                        schemaGenJarPath,
-                        xsdDestFile,
-                        SettingsService.getInstance().getCurrentLocale().toString()
-                );
-            } catch (Exception e) {
-                LOGGER.warning(e.getMessage());
-                LOGGER.warning("Due to an exception during schema file generation, a cached schema file will be used.");
-                return null;
+            // reuse the schema generated for the same installation in an earlier session
+            String fingerprint = libertyWorkspace.isLibertyRuntimeAndVersionSet() ? InstallationCacheUtil.getFingerprint(libertyWorkspace.getLibertyRuntime(),
+                    libertyWorkspace.getLibertyVersion(), SettingsService.getInstance().getCurrentLocale().toString(), schemaGenJarPath) : null;
+            File cachedXsdFile = fingerprint == null ? null : InstallationCacheUtil.getCachedFile(fingerprint, InstallationCacheUtil.SCHEMA_FILE);
+            if (cachedXsdFile != null && InstallationCacheUtil.restore(cachedXsdFile, xsdDestFile)) {
+                LOGGER.info("Using schema file cached for the Liberty installation: " + cachedXsdFile);
+            } else {
+                try {
+                    String xsdDestPath = xsdDestFile.getCanonicalPath();
+
+                    LOGGER.info("Generating schema file at: " + xsdDestPath);
+
+                    SchemaAndFeatureListGeneratorUtil.generateFile(
+                            SchemaAndFeatureListGeneratorUtil.ProcessType.SCHEMA,
+                            tempDir.toPath(),
+                            schemaGenJarPath,
+                            xsdDestFile,
+                            SettingsService.getInstance().getCurrentLocale().toString()
+                    );
+                } catch (Exception e) {
+                    LOGGER.warning(e.getMessage());
+                    LOGGER.warning("Due to an exception during schema file generation, a cached schema file will be used.");
+                    return null;
+                }
+                if (fingerprint != null) {
+                    InstallationCacheUtil.store(fingerprint, InstallationCacheUtil.SCHEMA_FILE, xsdDestFile);
+                }
             }
         }
 
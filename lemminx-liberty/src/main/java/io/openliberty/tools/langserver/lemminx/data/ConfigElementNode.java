@@ -1,5 +1,5 @@
 /*******************************************************************************
-* Copyright (c) 2024 IBM Corporation and others.
+* Copyright (c) 2024, 2025 IBM Corporation and others.
 *
 * This program and the accompanying materials are made available under the
 * terms of the Eclipse Public License v. 2.0 which is available at
@@ -15,7 +15,7 @@ package io.openliberty.tools.langserver.lemminx.data;
 // Class to represent a config element in a feature list xml
 public class ConfigElementNode extends Node {
 
-    public ConfigElementNode(String nodeName) {
-        super(nodeName);
+    ConfigElementNode(FeatureListGraph graph, int nodeId) {
+        super(graph, nodeId);
     }
 }
\ No newline at end of file
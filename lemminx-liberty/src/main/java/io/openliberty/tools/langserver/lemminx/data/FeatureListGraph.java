@@ -12,90 +12,332 @@
 *******************************************************************************/
 package io.openliberty.tools.langserver.lemminx.data;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.stream.IntStream;
 
+/**
+ * Graph of the features and config elements in a feature list xml.
+ *
+ * Every feature and config element name is interned once into an integer name id, and every feature and
+ * config element into an integer node id. The enabledBy, enables feature and enables config element relations
+ * are kept as compressed sparse row arrays: the name ids related to node n are the sorted, distinct entries
+ * targets[offsets[n]] to targets[offsets[n + 1] - 1]. The FeatureListNode and ConfigElementNode objects
+ * returned by this class are views over those arrays, so the graph holds a handful of arrays instead of a
+ * HashSet per node.
+ *
+ * Relations added through the node objects are collected as pending edges and compacted into the arrays
+ * by freeze(), which is called once the graph is built and otherwise on the first query after a change.
+ * freeze() also computes the transitive enabledBy closure of every node, in parallel on the common
+ * fork-join pool, and stores it as a BitSet over name ids, with a second BitSet over the lower case names.
+ * getAllEnabledBy then only looks up a precomputed set. Building the graph is not thread safe; once frozen,
+ * queries may be made from any thread. seal() is called before a graph is published, after which adding
+ * to it throws an IllegalStateException.
+ *
+ * A graph can be written with write() and read back with read(), which stores the arrays as they are and
+ * only recomputes the closures.
+ */
 public class FeatureListGraph {
-    private String runtime = "";
-    private Map<String, FeatureListNode> featureNodes;
-    private Map<String, ConfigElementNode> configElementNodes;
-    private Map<String, Node> nodes;
-    private Map<String, Set<String>> enabledByCache; 
-    private Map<String, Set<String>> enabledByCacheLowerCase; // storing in lower case to enable diagnostics with configured features
-    
+    static final int ENABLED_BY = 0;
+    static final int ENABLES_FEATURES = 1;
+    static final int ENABLES_CONFIG_ELEMENTS = 2;
+
+    private static final int NONE = -1;
+
+    // name id <-> name, a feature and a config element with the same name share the name id
+    private final Map<String, Integer> nameIds = new HashMap<String, Integer>();
+    private String[] names = new String[256];
+    private int nameCount;
+
+    // name id -> node id, or NONE
+    private int[] featureNodeIds = new int[256];
+    private int[] configElementNodeIds = new int[256];
+    // name id -> node whose enabledBy is followed when computing getAllEnabledBy. A feature added without
+    // description or a config element replaces an existing node with the same name, a feature added with a
+    // description does not. For versionless features there are config elements with the same name, such as mpMetrics.
+    private int[] resolvedNodeIds = new int[256];
+
+    // node id -> description and versionless flag
+    private String[] descriptions = new String[256];
+    private final BitSet versionless = new BitSet();
+    private int nodeCount;
+    private int featureCount;
+    private int configElementCount;
+
+    private final Adjacency[] adjacencies = { new Adjacency(), new Adjacency(), new Adjacency() };
+    private volatile boolean frozen = true;
+    private volatile boolean sealed;
+
+    // node id -> transitive enablers in original and lower case, computed by freeze()
+    private Set<String>[] allEnabledBy = newSetArray(0);
+    private Set<String>[] allEnabledByLowerCase = newSetArray(0);
+
     public FeatureListGraph() {
-        nodes = new HashMap<String, Node>();
-        featureNodes = new HashMap<String, FeatureListNode>();
-        configElementNodes = new HashMap<String, ConfigElementNode>();
-        enabledByCacheLowerCase = new HashMap<String, Set<String>>();
-        enabledByCache = new HashMap<String, Set<String>>();
+        Arrays.fill(featureNodeIds, NONE);
+        Arrays.fill(configElementNodeIds, NONE);
+        Arrays.fill(resolvedNodeIds, NONE);
     }
 
     public FeatureListNode addFeature(String nodeName) {
-        if (featureNodes.containsKey(nodeName)) {
-            return featureNodes.get(nodeName);
+        checkNotSealed();
+        int nameId = internName(nodeName);
+        if (featureNodeIds[nameId] != NONE) {
+            return new FeatureListNode(this, featureNodeIds[nameId]);
         }
-        FeatureListNode node = new FeatureListNode(nodeName);
-        featureNodes.put(nodeName, node);
-        nodes.put(nodeName, node);
-        return node;
+        int nodeId = addNode(null);
+        featureNodeIds[nameId] = nodeId;
+        resolvedNodeIds[nameId] = nodeId;
+        featureCount++;
+        return new FeatureListNode(this, nodeId);
     }
 
     public FeatureListNode addFeature(String nodeName, String description) {
-        if (featureNodes.containsKey(nodeName)) {
-            FeatureListNode node = featureNodes.get(nodeName);
-            if (node.getDescription().isEmpty()) {
-                node.setDescription(description);
+        checkNotSealed();
+        int nameId = internName(nodeName);
+        if (featureNodeIds[nameId] != NONE) {
+            int nodeId = featureNodeIds[nameId];
+            if (getDescription(nodeId).isEmpty()) {
+                setDescription(nodeId, description);
             }
-            return node;
+            return new FeatureListNode(this, nodeId);
         }
-        FeatureListNode node = new FeatureListNode(nodeName, description);
-        featureNodes.put(nodeName, node);
+        int nodeId = addNode(description);
+        featureNodeIds[nameId] = nodeId;
         // in case of versionless features,
         // there are some config elements with same name as version less feature
         // such as mpMetrics, currently only one
-        // use putIfAbsent because there might be already a configElement with enabledBy added
+        // keep an existing node because there might be already a configElement with enabledBy added
         // for version less features, config elements are not present in xsd
-        nodes.putIfAbsent(nodeName, node);
-        return node;
+        if (resolvedNodeIds[nameId] == NONE) {
+            resolvedNodeIds[nameId] = nodeId;
+        }
+        featureCount++;
+        return new FeatureListNode(this, nodeId);
     }
-    
+
     public ConfigElementNode addConfigElement(String nodeName) {
-        if (configElementNodes.containsKey(nodeName)) {
-            return configElementNodes.get(nodeName);
+        checkNotSealed();
+        int nameId = internName(nodeName);
+        if (configElementNodeIds[nameId] != NONE) {
+            return new ConfigElementNode(this, configElementNodeIds[nameId]);
         }
-        ConfigElementNode node = new ConfigElementNode(nodeName);
-        configElementNodes.put(nodeName, node);
-        nodes.put(nodeName, node);
-        return node;
+        int nodeId = addNode(null);
+        configElementNodeIds[nameId] = nodeId;
+        resolvedNodeIds[nameId] = nodeId;
+        configElementCount++;
+        return new ConfigElementNode(this, nodeId);
     }
 
     public FeatureListNode getFeatureListNode(String nodeName) {
-        return featureNodes.get(nodeName);
+        Integer nameId = nameIds.get(nodeName);
+        if (nameId == null || featureNodeIds[nameId] == NONE) {
+            return null;
+        }
+        return new FeatureListNode(this, featureNodeIds[nameId]);
     }
 
     public ConfigElementNode getConfigElementNode(String nodeName) {
-        return configElementNodes.get(nodeName);
+        Integer nameId = nameIds.get(nodeName);
+        if (nameId == null || configElementNodeIds[nameId] == NONE) {
+            return null;
+        }
+        return new ConfigElementNode(this, configElementNodeIds[nameId]);
     }
 
     public boolean isEmpty() {
-        return configElementNodes.isEmpty() && featureNodes.isEmpty();
+        return configElementCount == 0 && featureCount == 0;
     }
-    
+
     public boolean isConfigElement(String name) {
-        return configElementNodes.containsKey(name);
+        Integer nameId = nameIds.get(name);
+        return nameId != null && configElementNodeIds[nameId] != NONE;
+    }
+
+    /**
+     * Freezes the graph and rejects any further change, so that a published graph is never refrozen
+     * while it is being queried.
+     */
+    public void seal() {
+        freeze();
+        sealed = true;
+    }
+
+    /**
+     * Compacts the relations added since the last call into the adjacency arrays. Called once the graph is
+     * built so that the first query does not pay for it; queries also call it when the graph has changed.
+     */
+    public synchronized void freeze() {
+        if (frozen) {
+            return;
+        }
+        for (Adjacency adjacency : adjacencies) {
+            adjacency.freeze(nodeCount);
+        }
+
+        // names that differ only in case share a lower case id
+        String[] lowerCaseNames = new String[nameCount];
+        Map<String, Integer> lowerCaseNameIds = new HashMap<String, Integer>();
+        int[] lowerCaseIds = new int[nameCount];
+        for (int nameId = 0; nameId < nameCount; nameId++) {
+            String lowerCaseName = names[nameId].toLowerCase();
+            Integer lowerCaseId = lowerCaseNameIds.get(lowerCaseName);
+            if (lowerCaseId == null) {
+                lowerCaseId = lowerCaseNameIds.size();
+                lowerCaseNameIds.put(lowerCaseName, lowerCaseId);
+                lowerCaseNames[lowerCaseId] = lowerCaseName;
+            }
+            lowerCaseIds[nameId] = lowerCaseId;
+        }
+
+        Set<String>[] closures = newSetArray(nodeCount);
+        Set<String>[] lowerCaseClosures = newSetArray(nodeCount);
+        IntStream.range(0, nodeCount).parallel().forEach(nodeId -> {
+            BitSet closure = computeAllEnabledBy(nodeId);
+            BitSet lowerCaseClosure = new BitSet(lowerCaseNameIds.size());
+            for (int nameId = closure.nextSetBit(0); nameId >= 0; nameId = closure.nextSetBit(nameId + 1)) {
+                lowerCaseClosure.set(lowerCaseIds[nameId]);
+            }
+            closures[nodeId] = new BitNameSet(closure, names, nameIds);
+            lowerCaseClosures[nodeId] = new BitNameSet(lowerCaseClosure, lowerCaseNames, lowerCaseNameIds);
+        });
+        allEnabledBy = closures;
+        allEnabledByLowerCase = lowerCaseClosures;
+        frozen = true;
+    }
+
+    /**
+     * Writes the graph so that it can be restored with read().
+     */
+    public void write(DataOutputStream out) throws IOException {
+        ensureFrozen();
+        out.writeInt(nameCount);
+        for (int nameId = 0; nameId < nameCount; nameId++) {
+            out.writeUTF(names[nameId]);
+            out.writeInt(featureNodeIds[nameId]);
+            out.writeInt(configElementNodeIds[nameId]);
+            out.writeInt(resolvedNodeIds[nameId]);
+        }
+        out.writeInt(nodeCount);
+        out.writeInt(featureCount);
+        out.writeInt(configElementCount);
+        for (int nodeId = 0; nodeId < nodeCount; nodeId++) {
+            out.writeBoolean(descriptions[nodeId] != null);
+            if (descriptions[nodeId] != null) {
+                out.writeUTF(descriptions[nodeId]);
+            }
+            out.writeBoolean(versionless.get(nodeId));
+        }
+        for (Adjacency adjacency : adjacencies) {
+            writeInts(out, adjacency.offsets);
+            writeInts(out, adjacency.targets);
+        }
+    }
+
+    /**
+     * Reads a graph written by write() and freezes it.
+     *
+     * @param limit size of the data, no count read from it can exceed it
+     * @throws IOException if the data cannot be read or is not a valid graph
+     */
+    public static FeatureListGraph read(DataInputStream in, long limit) throws IOException {
+        FeatureListGraph graph = new FeatureListGraph();
+        int nameCount = readCount(in, limit);
+        int capacity = Math.max(nameCount, 1);
+        graph.names = new String[capacity];
+        graph.featureNodeIds = grow(new int[0], capacity);
+        graph.configElementNodeIds = grow(new int[0], capacity);
+        graph.resolvedNodeIds = grow(new int[0], capacity);
+        for (int nameId = 0; nameId < nameCount; nameId++) {
+            graph.names[nameId] = in.readUTF();
+            graph.nameIds.put(graph.names[nameId], nameId);
+            graph.featureNodeIds[nameId] = in.readInt();
+            graph.configElementNodeIds[nameId] = in.readInt();
+            graph.resolvedNodeIds[nameId] = in.readInt();
+        }
+        graph.nameCount = nameCount;
+        int nodeCount = readCount(in, limit);
+        graph.featureCount = in.readInt();
+        graph.configElementCount = in.readInt();
+        if (graph.featureCount < 0 || graph.configElementCount < 0 || graph.featureCount + graph.configElementCount != nodeCount) {
+            throw new IOException("Invalid feature list graph node count");
+        }
+        for (int nameId = 0; nameId < nameCount; nameId++) {
+            checkNodeId(graph.featureNodeIds[nameId], nodeCount);
+            checkNodeId(graph.configElementNodeIds[nameId], nodeCount);
+            checkNodeId(graph.resolvedNodeIds[nameId], nodeCount);
+        }
+        graph.descriptions = new String[Math.max(nodeCount, 1)];
+        for (int nodeId = 0; nodeId < nodeCount; nodeId++) {
+            graph.descriptions[nodeId] = in.readBoolean() ? in.readUTF() : null;
+            graph.versionless.set(nodeId, in.readBoolean());
+        }
+        graph.nodeCount = nodeCount;
+        for (Adjacency adjacency : graph.adjacencies) {
+            adjacency.offsets = readInts(in, limit);
+            adjacency.targets = readInts(in, limit);
+            checkAdjacency(adjacency, nodeCount, nameCount);
+        }
+        graph.frozen = false;
+        graph.freeze();
+        return graph;
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        out.writeInt(values.length);
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    // every element takes at least four bytes of the data
+    private static int readCount(DataInputStream in, long limit) throws IOException {
+        int count = in.readInt();
+        if (count < 0 || count > limit / 4) {
+            throw new IOException("Invalid feature list graph count " + count);
+        }
+        return count;
     }
-    
-    public void setRuntime(String runtime) {
-        this.runtime = runtime;
+
+    private static void checkNodeId(int nodeId, int nodeCount) throws IOException {
+        if (nodeId != NONE && (nodeId < 0 || nodeId >= nodeCount)) {
+            throw new IOException("Invalid feature list graph node id " + nodeId);
+        }
     }
 
-    public String getRuntime() {
-        return this.runtime;
+    // offsets must start at 0 and end at the number of targets, and each row must be sorted, distinct name ids
+    private static void checkAdjacency(Adjacency adjacency, int nodeCount, int nameCount) throws IOException {
+        int[] offsets = adjacency.offsets;
+        int[] targets = adjacency.targets;
+        if (offsets.length != nodeCount + 1 || offsets[0] != 0 || offsets[nodeCount] != targets.length) {
+            throw new IOException("Invalid feature list graph adjacency");
+        }
+        for (int nodeId = 0; nodeId < nodeCount; nodeId++) {
+            if (offsets[nodeId + 1] < offsets[nodeId]) {
+                throw new IOException("Invalid feature list graph adjacency");
+            }
+            for (int i = offsets[nodeId]; i < offsets[nodeId + 1]; i++) {
+                if (targets[i] < 0 || targets[i] >= nameCount || (i > offsets[nodeId] && targets[i] <= targets[i - 1])) {
+                    throw new IOException("Invalid feature list graph target " + targets[i]);
+                }
+            }
+        }
+    }
+
+    private static int[] readInts(DataInputStream in, long limit) throws IOException {
+        int[] values = new int[readCount(in, limit)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
     }
 
     /**
@@ -107,7 +349,7 @@ public class FeatureListGraph {
     public Set<String> getAllEnabledBy(String elementName) {
         return getAllEnabledBy(elementName, true);
     }
-            
+
     /**
      * Returns a superset of 'owning' features that enable a given config element or feature.
      * The features are returned in lower case if the 'lowerCase' boolean is true. Otherwise,
@@ -116,50 +358,283 @@ public class FeatureListGraph {
      * @return
      */
     public Set<String> getAllEnabledBy(String elementName, boolean lowerCase) {
+        ensureFrozen();
+        Integer nameId = nameIds.get(elementName);
+        if (nameId == null || resolvedNodeIds[nameId] == NONE) {
+            return null;
+        }
+        int nodeId = resolvedNodeIds[nameId];
+        return lowerCase ? allEnabledByLowerCase[nodeId] : allEnabledBy[nodeId];
+    }
 
-        if (lowerCase && enabledByCacheLowerCase.containsKey(elementName)) {
-            return enabledByCacheLowerCase.get(elementName);
+    // Breadth-first search on parent nodes, returns the name ids of all enablers
+    private BitSet computeAllEnabledBy(int nodeId) {
+        Adjacency enabledBy = adjacencies[ENABLED_BY];
+        BitSet visited = new BitSet(nameCount);
+        int[] queue = new int[nameCount];
+        int head = 0;
+        int tail = 0;
+        for (int i = enabledBy.start(nodeId); i < enabledBy.end(nodeId); i++) {
+            visited.set(enabledBy.targets[i]);
+            queue[tail++] = enabledBy.targets[i];
         }
+        while (head < tail) {
+            int parent = resolvedNodeIds[queue[head++]];
+            if (parent == NONE) {
+                continue;
+            }
+            for (int i = enabledBy.start(parent); i < enabledBy.end(parent); i++) {
+                int enabler = enabledBy.targets[i];
+                if (!visited.get(enabler)) {
+                    visited.set(enabler);
+                    queue[tail++] = enabler;
+                }
+            }
+        }
+        return visited;
+    }
 
-        if (enabledByCache.containsKey(elementName)) {
-            return enabledByCache.get(elementName);
+    private int internName(String name) {
+        Integer nameId = nameIds.get(name);
+        if (nameId != null) {
+            return nameId;
+        }
+        if (nameCount == names.length) {
+            int capacity = names.length * 2;
+            names = Arrays.copyOf(names, capacity);
+            featureNodeIds = grow(featureNodeIds, capacity);
+            configElementNodeIds = grow(configElementNodeIds, capacity);
+            resolvedNodeIds = grow(resolvedNodeIds, capacity);
         }
+        names[nameCount] = name;
+        nameIds.put(name, nameCount);
+        return nameCount++;
+    }
 
-        if (!nodes.containsKey(elementName)) {
-            return null;
+    private int addNode(String description) {
+        if (nodeCount == descriptions.length) {
+            descriptions = Arrays.copyOf(descriptions, nodeCount * 2);
         }
+        descriptions[nodeCount] = description;
+        frozen = false;
+        return nodeCount++;
+    }
 
-        // Implements a breadth-first-search on parent nodes
-        Set<String> allEnabledBy = new HashSet<String>(nodes.get(elementName).getEnabledBy());;
-        Deque<String> queue = new ArrayDeque<String>(allEnabledBy);
-        Set<String> visited = new HashSet<String>();
-        while (!queue.isEmpty()) {
-            String node = queue.getFirst();
-            queue.removeFirst();
-            if (visited.contains(node)) {
-                continue;
+    @SuppressWarnings("unchecked")
+    private static Set<String>[] newSetArray(int size) {
+        return (Set<String>[]) new Set<?>[size];
+    }
+
+    private static int[] grow(int[] ids, int capacity) {
+        int length = ids.length;
+        int[] grown = Arrays.copyOf(ids, capacity);
+        Arrays.fill(grown, length, capacity, NONE);
+        return grown;
+    }
+
+    private void checkNotSealed() {
+        if (sealed) {
+            throw new IllegalStateException("The feature list graph is published and cannot be changed");
+        }
+    }
+
+    private void ensureFrozen() {
+        if (!frozen) {
+            freeze();
+        }
+    }
+
+    // package-private accessors used by the node views
+
+    void addRelation(int relation, int nodeId, String name) {
+        checkNotSealed();
+        adjacencies[relation].add(nodeId, internName(name));
+        frozen = false;
+    }
+
+    Set<String> getRelation(int relation, int nodeId) {
+        ensureFrozen();
+        Adjacency adjacency = adjacencies[relation];
+        return new NameSet(adjacency.targets, adjacency.start(nodeId), adjacency.end(nodeId));
+    }
+
+    String getDescription(int nodeId) {
+        return descriptions[nodeId] == null ? "" : descriptions[nodeId];
+    }
+
+    void setDescription(int nodeId, String description) {
+        checkNotSealed();
+        descriptions[nodeId] = description;
+    }
+
+    boolean isVersionless(int nodeId) {
+        return versionless.get(nodeId);
+    }
+
+    void setVersionless(int nodeId, boolean isVersionless) {
+        checkNotSealed();
+        versionless.set(nodeId, isVersionless);
+    }
+
+    /**
+     * One relation in compressed sparse row form, plus the edges added since it was last frozen.
+     */
+    private static final class Adjacency {
+        private static final int[] EMPTY = new int[0];
+
+        int[] offsets = { 0 };
+        int[] targets = EMPTY;
+        private int[] pendingSources = EMPTY;
+        private int[] pendingTargets = EMPTY;
+        private int pendingCount;
+
+        void add(int source, int target) {
+            if (pendingCount == pendingSources.length) {
+                int capacity = Math.max(64, pendingCount * 2);
+                pendingSources = Arrays.copyOf(pendingSources, capacity);
+                pendingTargets = Arrays.copyOf(pendingTargets, capacity);
             }
-            Set<String> enablers = nodes.get(node).getEnabledBy();
-            visited.add(node);
-            allEnabledBy.addAll(enablers);
-            queue.addAll(enablers);
+            pendingSources[pendingCount] = source;
+            pendingTargets[pendingCount] = target;
+            pendingCount++;
+        }
+
+        int start(int nodeId) {
+            return nodeId + 1 < offsets.length ? offsets[nodeId] : 0;
+        }
+
+        int end(int nodeId) {
+            return nodeId + 1 < offsets.length ? offsets[nodeId + 1] : 0;
+        }
+
+        void freeze(int nodeCount) {
+            // encode each edge as source << 32 | target so one sort orders by source, then target
+            long[] edges = new long[targets.length + pendingCount];
+            int edgeCount = 0;
+            for (int source = 0; source < offsets.length - 1; source++) {
+                for (int i = offsets[source]; i < offsets[source + 1]; i++) {
+                    edges[edgeCount++] = ((long) source << 32) | targets[i];
+                }
+            }
+            for (int i = 0; i < pendingCount; i++) {
+                edges[edgeCount++] = ((long) pendingSources[i] << 32) | pendingTargets[i];
+            }
+            Arrays.sort(edges);
+
+            int[] newOffsets = new int[nodeCount + 1];
+            int[] newTargets = new int[edgeCount];
+            int targetCount = 0;
+            for (int i = 0; i < edgeCount; i++) {
+                if (i > 0 && edges[i] == edges[i - 1]) {
+                    continue;
+                }
+                newOffsets[(int) (edges[i] >>> 32) + 1]++;
+                newTargets[targetCount++] = (int) edges[i];
+            }
+            for (int n = 0; n < nodeCount; n++) {
+                newOffsets[n + 1] += newOffsets[n];
+            }
+            offsets = newOffsets;
+            targets = targetCount == edgeCount ? newTargets : Arrays.copyOf(newTargets, targetCount);
+            pendingSources = EMPTY;
+            pendingTargets = EMPTY;
+            pendingCount = 0;
         }
-        return addToEnabledByCache(elementName, allEnabledBy, lowerCase);
     }
 
-    private Set<String> addToEnabledByCache(String configElement, Set<String> allEnabledBy, boolean lowerCase) {
-        Set<String> lowercaseEnabledBy = new HashSet<String>();
-        Set<String> originalcaseEnabledBy = new HashSet<String>();
-        originalcaseEnabledBy.addAll(allEnabledBy);
+    /**
+     * Unmodifiable set of the names for a sorted range of name ids.
+     */
+    private final class NameSet extends AbstractSet<String> {
+        private final int[] ids;
+        private final int from;
+        private final int to;
+
+        NameSet(int[] ids, int from, int to) {
+            this.ids = ids;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            Integer nameId = o instanceof String ? nameIds.get(o) : null;
+            return nameId != null && Arrays.binarySearch(ids, from, to, nameId) >= 0;
+        }
 
-        for (String nextFeature: allEnabledBy) {
-            lowercaseEnabledBy.add(nextFeature.toLowerCase());
+        @Override
+        public int size() {
+            return to - from;
         }
 
-        enabledByCacheLowerCase.put(configElement, lowercaseEnabledBy);
-        enabledByCache.put(configElement, originalcaseEnabledBy);
+        @Override
+        public Iterator<String> iterator() {
+            return new Iterator<String>() {
+                private int next = from;
 
-        return lowerCase ? lowercaseEnabledBy : originalcaseEnabledBy;
+                @Override
+                public boolean hasNext() {
+                    return next < to;
+                }
+
+                @Override
+                public String next() {
+                    if (next >= to) {
+                        throw new NoSuchElementException();
+                    }
+                    return names[ids[next++]];
+                }
+            };
+        }
+    }
+
+    /**
+     * Unmodifiable set of the names for the bits set in a BitSet of name ids.
+     */
+    private static final class BitNameSet extends AbstractSet<String> {
+        private final BitSet ids;
+        private final int size;
+        private final String[] names;
+        private final Map<String, Integer> nameIds;
+
+        BitNameSet(BitSet ids, String[] names, Map<String, Integer> nameIds) {
+            this.ids = ids;
+            this.size = ids.cardinality();
+            this.names = names;
+            this.nameIds = nameIds;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            Integer nameId = o instanceof String ? nameIds.get(o) : null;
+            return nameId != null && ids.get(nameId);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return new Iterator<String>() {
+                private int next = ids.nextSetBit(0);
+
+                @Override
+                public boolean hasNext() {
+                    return next >= 0;
+                }
+
+                @Override
+                public String next() {
+                    if (next < 0) {
+                        throw new NoSuchElementException();
+                    }
+                    String name = names[next];
+                    next = ids.nextSetBit(next + 1);
+                    return name;
+                }
+            };
+        }
     }
-   
-}
\ No newline at end of file
+}
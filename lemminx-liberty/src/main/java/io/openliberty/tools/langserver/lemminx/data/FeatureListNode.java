@@ -12,57 +12,45 @@
 *******************************************************************************/
 package io.openliberty.tools.langserver.lemminx.data;
 
-import java.util.HashSet;
 import java.util.Set;
 
 
 // Class to represent a feature in a feature list xml
 public class FeatureListNode extends Node {
-    protected String description;
-    protected Set<String> enablesFeatures;
-    protected Set<String> enablesConfigElements;
-    protected boolean isVersionless;
 
-    public FeatureListNode(String nodeName) {
-        super(nodeName);
-        enablesFeatures = new HashSet<String>();
-        enablesConfigElements = new HashSet<String>();
-    }
-
-    public FeatureListNode(String nodeName, String description) {
-        this(nodeName);
-        this.description = description;
+    FeatureListNode(FeatureListGraph graph, int nodeId) {
+        super(graph, nodeId);
     }
 
     public void setIsVersionless(boolean isVersionless) {
-        this.isVersionless = true;
+        graph.setVersionless(nodeId, isVersionless);
     }
 
     public boolean isVersionless() {
-        return this.isVersionless;
+        return graph.isVersionless(nodeId);
     }
 
     public void setDescription(String description) {
-        this.description = description;
+        graph.setDescription(nodeId, description);
     }
 
     public String getDescription() {
-        return this.description == null ? "" : this.description;
+        return graph.getDescription(nodeId);
     }
 
     public void addEnablesFeature(String nodeName) {
-        enablesFeatures.add(nodeName);
+        graph.addRelation(FeatureListGraph.ENABLES_FEATURES, nodeId, nodeName);
     }
 
     public void addEnablesConfigElement(String nodeName) {
-        enablesConfigElements.add(nodeName);
+        graph.addRelation(FeatureListGraph.ENABLES_CONFIG_ELEMENTS, nodeId, nodeName);
     }
 
     public Set<String> getEnablesFeatures() {
-        return enablesFeatures;
+        return graph.getRelation(FeatureListGraph.ENABLES_FEATURES, nodeId);
     }
 
     public Set<String> getEnablesConfigElements() {
-        return enablesConfigElements;
+        return graph.getRelation(FeatureListGraph.ENABLES_CONFIG_ELEMENTS, nodeId);
     }
 }
\ No newline at end of file
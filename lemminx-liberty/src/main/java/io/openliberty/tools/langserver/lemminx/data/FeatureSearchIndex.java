@@ -0,0 +1,157 @@
+/*******************************************************************************
+* Copyright (c) 2025 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package io.openliberty.tools.langserver.lemminx.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.openliberty.tools.langserver.lemminx.models.feature.Feature;
+
+/**
+ * Search structure over the short names of a feature catalog, used to answer
+ * "features containing X" for completion without scanning the whole catalog.
+ *
+ * Every substring of length 1 to 3 of each lower case short name is mapped to the
+ * sorted ids of the features containing it. Queries up to 3 characters are answered
+ * directly from the postings. Longer queries intersect the postings of their trigrams
+ * and verify the remaining candidates with a contains check. Results are returned in
+ * catalog order.
+ */
+public class FeatureSearchIndex {
+    private static final int MAX_GRAM = 3;
+    private static final int[] EMPTY = new int[0];
+
+    private final List<Feature> features;
+    private final String[] namesLowerCase;
+    private final String[] baseNames;           // name without version, including the trailing "-"
+    private final Set<String> nameSet;
+    private final Map<String, int[]> postings;
+
+    public FeatureSearchIndex(List<Feature> features) {
+        this.features = List.copyOf(features);
+        this.namesLowerCase = new String[this.features.size()];
+        this.baseNames = new String[this.features.size()];
+        this.nameSet = new HashSet<>();
+
+        Map<String, List<Integer>> grams = new HashMap<>();
+        for (int id = 0; id < this.features.size(); id++) {
+            String name = this.features.get(id).getWlpInformation().getShortName().toLowerCase();
+            namesLowerCase[id] = name;
+            nameSet.add(name);
+            baseNames[id] = getBaseName(name);
+
+            Set<String> seen = new HashSet<>();
+            for (int len = 1; len <= MAX_GRAM; len++) {
+                for (int i = 0; i + len <= name.length(); i++) {
+                    String gram = name.substring(i, i + len);
+                    if (seen.add(gram)) {
+                        grams.computeIfAbsent(gram, k -> new ArrayList<>()).add(id);
+                    }
+                }
+            }
+        }
+
+        postings = new HashMap<>(grams.size() * 2);
+        grams.forEach((gram, ids) -> postings.put(gram, ids.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    /**
+     * Returns the feature name minus its version, keeping the trailing "-". A name without a
+     * version gets a trailing "-" appended so that it groups with its versioned forms.
+     * The name is expected to already be in lower case.
+     */
+    public static String getBaseName(String featureNameLowerCase) {
+        int dash = featureNameLowerCase.lastIndexOf("-");
+        return dash >= 0 ? featureNameLowerCase.substring(0, dash + 1) : featureNameLowerCase + "-";
+    }
+
+    /**
+     * Returns the features whose short name contains the passed text (ignoring case), excluding
+     * every version of the features in existingFeatureNames that are part of this catalog.
+     * 
+     * @param text text the short name must contain
+     * @param existingFeatureNames lower case names of features already configured
+     * @return matching features in catalog order
+     */
+    public List<Feature> search(String text, Collection<String> existingFeatureNames) {
+        Set<String> basesToExclude = new HashSet<>();
+        for (String existing : existingFeatureNames) {
+            if (nameSet.contains(existing)) {
+                basesToExclude.add(getBaseName(existing));
+            }
+        }
+
+        String query = text.toLowerCase();
+        List<Feature> result = new ArrayList<>();
+        if (query.isEmpty()) {
+            for (int id = 0; id < features.size(); id++) {
+                addIfNotExcluded(id, basesToExclude, result);
+            }
+            return result;
+        }
+
+        for (int id : candidates(query)) {
+            if (query.length() <= MAX_GRAM || namesLowerCase[id].contains(query)) {
+                addIfNotExcluded(id, basesToExclude, result);
+            }
+        }
+        return result;
+    }
+
+    private void addIfNotExcluded(int id, Set<String> basesToExclude, List<Feature> result) {
+        if (!basesToExclude.contains(baseNames[id])) {
+            result.add(features.get(id));
+        }
+    }
+
+    private int[] candidates(String query) {
+        if (query.length() <= MAX_GRAM) {
+            return postings.getOrDefault(query, EMPTY);
+        }
+        int[] current = null;
+        for (int i = 0; i + MAX_GRAM <= query.length(); i++) {
+            int[] ids = postings.get(query.substring(i, i + MAX_GRAM));
+            if (ids == null) {
+                return EMPTY;
+            }
+            current = current == null ? ids : intersect(current, ids);
+            if (current.length == 0) {
+                break;
+            }
+        }
+        return current;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, k = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[k++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return k == out.length ? out : Arrays.copyOf(out, k);
+    }
+}
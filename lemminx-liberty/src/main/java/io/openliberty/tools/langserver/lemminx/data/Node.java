@@ -1,5 +1,5 @@
 /*******************************************************************************
-* Copyright (c) 2024 IBM Corporation and others.
+* Copyright (c) 2024, 2025 IBM Corporation and others.
 *
 * This program and the accompanying materials are made available under the
 * terms of the Eclipse Public License v. 2.0 which is available at
@@ -12,23 +12,23 @@
 *******************************************************************************/
 package io.openliberty.tools.langserver.lemminx.data;
 
-import java.util.HashSet;
 import java.util.Set;
 
+// View of a node in a FeatureListGraph, the relations are stored in the graph
 public class Node {
-    protected String nodeName;
-    protected Set<String> enabledBy;
+    protected final FeatureListGraph graph;
+    protected final int nodeId;
 
-    public Node(String nodeName) {
-        enabledBy = new HashSet<String>();
-        this.nodeName = nodeName;
+    Node(FeatureListGraph graph, int nodeId) {
+        this.graph = graph;
+        this.nodeId = nodeId;
     }
     
     public void addEnabledBy(String nodeName) {
-        enabledBy.add(nodeName);
+        graph.addRelation(FeatureListGraph.ENABLED_BY, nodeId, nodeName);
     }
 
     public Set<String> getEnabledBy() {
-        return enabledBy;
+        return graph.getRelation(FeatureListGraph.ENABLED_BY, nodeId);
     }
 }
\ No newline at end of file
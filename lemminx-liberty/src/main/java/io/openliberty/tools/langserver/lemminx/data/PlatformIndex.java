@@ -0,0 +1,118 @@
+/*******************************************************************************
+* Copyright (c) 2025 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package io.openliberty.tools.langserver.lemminx.data;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import io.openliberty.tools.langserver.lemminx.models.feature.Feature;
+
+/**
+ * Interns the available platforms of a feature catalog into dense ids and stores the platforms of each
+ * public feature as a BitSet over those ids. Common platform and platform type checks then become
+ * word-wise bit operations instead of set copies.
+ *
+ * Only platforms that are available in the catalog are recorded for a feature, since a feature can list a
+ * platform that is still in beta. BitSets returned by this class are shared and must not be modified.
+ */
+public class PlatformIndex {
+    private static final BitSet EMPTY = new BitSet();
+
+    private final String[] platformNames;
+    private final Map<String, BitSet> featurePlatforms;   // lower case short name -> platform ids
+    private final BitSet eePlatforms;                     // javaee-* and jakartaee-*
+    private final BitSet mpPlatforms;                     // microprofile-*
+
+    public PlatformIndex(Collection<String> availablePlatforms, List<Feature> publicFeatures) {
+        // sort so that ids are stable for the same catalog
+        this.platformNames = new TreeSet<>(availablePlatforms).toArray(new String[0]);
+        Map<String, Integer> platformIds = new HashMap<>();
+        this.eePlatforms = new BitSet(platformNames.length);
+        this.mpPlatforms = new BitSet(platformNames.length);
+        for (int id = 0; id < platformNames.length; id++) {
+            String platform = platformNames[id];
+            platformIds.put(platform, id);
+            String platformLowerCase = platform.toLowerCase();
+            if (platformLowerCase.startsWith("javaee-") || platformLowerCase.startsWith("jakartaee-")) {
+                eePlatforms.set(id);
+            } else if (platformLowerCase.startsWith("microprofile-")) {
+                mpPlatforms.set(id);
+            }
+        }
+
+        this.featurePlatforms = new HashMap<>();
+        for (Feature feature : publicFeatures) {
+            if (feature.getWlpInformation() == null || feature.getWlpInformation().getShortName() == null
+                    || feature.getWlpInformation().getPlatforms() == null) {
+                continue;
+            }
+            BitSet bits = new BitSet(platformNames.length);
+            for (String platform : feature.getWlpInformation().getPlatforms()) {
+                Integer id = platformIds.get(platform);
+                if (id != null) {
+                    bits.set(id);
+                }
+            }
+            featurePlatforms.putIfAbsent(feature.getWlpInformation().getShortName().toLowerCase(), bits);
+        }
+    }
+
+    /**
+     * Returns the available platforms of the passed feature, ignoring case of the feature name.
+     * The returned BitSet must not be modified.
+     */
+    public BitSet getPlatforms(String featureShortName) {
+        BitSet bits = featureShortName == null ? null : featurePlatforms.get(featureShortName.toLowerCase());
+        return bits == null ? EMPTY : bits;
+    }
+
+    /**
+     * Returns the platforms common to all of the passed features, or null if no features are passed.
+     */
+    public BitSet getCommonPlatforms(Collection<String> featureShortNames) {
+        BitSet common = null;
+        for (String featureShortName : featureShortNames) {
+            if (common == null) {
+                common = (BitSet) getPlatforms(featureShortName).clone();
+            } else {
+                common.and(getPlatforms(featureShortName));
+            }
+        }
+        return common;
+    }
+
+    public boolean supportsEEPlatform(String featureShortName) {
+        return getPlatforms(featureShortName).intersects(eePlatforms);
+    }
+
+    public boolean supportsMicroProfilePlatform(String featureShortName) {
+        return getPlatforms(featureShortName).intersects(mpPlatforms);
+    }
+
+    /**
+     * Returns a new modifiable set with the platform names for the passed ids.
+     */
+    public Set<String> toPlatformNames(BitSet bits) {
+        Set<String> names = new HashSet<>();
+        for (int id = bits.nextSetBit(0); id >= 0; id = bits.nextSetBit(id + 1)) {
+            names.add(platformNames[id]);
+        }
+        return names;
+    }
+}
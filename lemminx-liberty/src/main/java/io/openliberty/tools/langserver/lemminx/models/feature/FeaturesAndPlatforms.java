@@ -13,18 +13,35 @@
 package io.openliberty.tools.langserver.lemminx.models.feature;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+import io.openliberty.tools.langserver.lemminx.data.FeatureSearchIndex;
+import io.openliberty.tools.langserver.lemminx.data.PlatformIndex;
 import io.openliberty.tools.langserver.lemminx.util.LibertyConstants;
 
 public class FeaturesAndPlatforms {
     private List<Feature> publicFeatures;
     private List<Feature> privateFeatures;
     private Set<String> platforms;
+
+    // Lookup indexes built from the lists above whenever they are loaded or merged.
+    // The maps are immutable so they can be shared safely by all callers.
+    private Map<String, Feature> featuresByShortName;      // lower case short name -> public feature
+    private Set<String> platformsLowerCase;
+    private FeatureSearchIndex searchIndex;                // substring search over public short names
+    private PlatformIndex platformIndex;                   // platforms of each public feature as bitsets
+    // Versionless feature resolution, computed once per feature for this catalog
+    private Map<String, Set<String>> versionedFeaturesForVersionless; // lower case versionless name -> versioned names
+    private Map<String, Set<String>> platformsForVersionless;         // lower case versionless name -> lower case platforms
     
     public FeaturesAndPlatforms(List<Feature> publicFeatures, List<Feature> privateFeatures) {
         this.publicFeatures = publicFeatures;
@@ -38,29 +55,180 @@ public class FeaturesAndPlatforms {
                 .map(WlpInformation::getPlatforms)
                 .filter(Objects::nonNull)
                 .flatMap(List::stream).collect(Collectors.toSet());
+        buildIndexes();
     }
 
     public FeaturesAndPlatforms() {
         this.publicFeatures = new ArrayList<>();
         this.privateFeatures = new ArrayList<>();
         this.platforms = new HashSet<>();
+        buildIndexes();
     }
 
     public void addFeaturesAndPlatforms(FeaturesAndPlatforms fp) {
         this.publicFeatures.addAll(fp.getPublicFeatures());
         this.privateFeatures.addAll(fp.getPrivateFeatures());
         this.platforms.addAll(fp.getPlatforms());
+        buildIndexes();
+    }
+
+    /**
+     * Rebuilds the lookup indexes from the current feature lists. When the same short name
+     * appears more than once (e.g. wlp features merged with ol features), the first one wins
+     * to match the previous first-match list scan.
+     */
+    private void buildIndexes() {
+        Map<String, Feature> byShortName = new HashMap<>();
+
+        for (Feature feature : publicFeatures) {
+            WlpInformation wlpInfo = feature.getWlpInformation();
+            if (wlpInfo == null) {
+                continue;
+            }
+            if (wlpInfo.getShortName() != null) {
+                byShortName.putIfAbsent(wlpInfo.getShortName().toLowerCase(), feature);
+            }
+        }
+
+        this.featuresByShortName = Map.copyOf(byShortName);
+        this.platformsLowerCase = platforms.stream().map(String::toLowerCase).collect(Collectors.toUnmodifiableSet());
+        this.searchIndex = new FeatureSearchIndex(publicFeatures.stream()
+                .filter(f -> f.getWlpInformation() != null && f.getWlpInformation().getShortName() != null)
+                .collect(Collectors.toList()));
+        this.platformIndex = new PlatformIndex(platforms, publicFeatures);
+        this.versionedFeaturesForVersionless = new ConcurrentHashMap<>();
+        this.platformsForVersionless = new ConcurrentHashMap<>();
     }
 
     public List<Feature> getPublicFeatures() {
-        return this.publicFeatures;
+        return Collections.unmodifiableList(this.publicFeatures);
     }
 
     public List<Feature> getPrivateFeatures() {
-        return this.privateFeatures;
+        return Collections.unmodifiableList(this.privateFeatures);
     }
 
     public Set<String> getPlatforms() {
-        return this.platforms;
+        return Collections.unmodifiableSet(this.platforms);
+    }
+
+    /**
+     * Returns the public feature with the passed short name, ignoring case, or null if not found.
+     */
+    public Feature getFeatureByShortName(String shortName) {
+        return shortName == null ? null : featuresByShortName.get(shortName.toLowerCase());
+    }
+
+    public FeatureSearchIndex getSearchIndex() {
+        return searchIndex;
+    }
+
+    public PlatformIndex getPlatformIndex() {
+        return platformIndex;
+    }
+
+    /**
+     * Returns the versioned feature names a versionless feature can resolve to. These are collected from the
+     * requireFeature and requireFeatureWithTolerates lists of the versionless feature, expanding each tolerated
+     * version and any renamed feature (e.g. ejb-3.2 to enterprisebeans-4.0). The result is computed once per
+     * feature and cached for the lifetime of this catalog.
+     *
+     * @param featureName versionless feature short name, case is ignored
+     * @return unmodifiable set of versioned feature names, empty if the feature is unknown
+     */
+    public Set<String> getVersionedFeaturesForVersionless(String featureName) {
+        if (featureName == null) {
+            return Collections.emptySet();
+        }
+        return versionedFeaturesForVersionless.computeIfAbsent(featureName.toLowerCase(), name -> {
+            Feature feature = getFeatureByShortName(name);
+            Set<String> featureNames = new HashSet<>();
+            if (feature != null && feature.getWlpInformation() != null) {
+                addRequiredFeatureNames(feature.getWlpInformation(), featureNames);
+                addRequireTolerateFeatureNames(feature.getWlpInformation(), featureNames);
+            }
+            return Collections.unmodifiableSet(featureNames);
+        });
+    }
+
+    /**
+     * Returns all available platforms, in lower case, of the versioned features a versionless feature can resolve to.
+     * The result is computed once per feature and cached for the lifetime of this catalog.
+     *
+     * @param featureName versionless feature short name, case is ignored
+     * @return unmodifiable set of lower case platform names
+     */
+    public Set<String> getPlatformsForVersionless(String featureName) {
+        if (featureName == null) {
+            return Collections.emptySet();
+        }
+        return platformsForVersionless.computeIfAbsent(featureName.toLowerCase(), name -> {
+            BitSet platformBits = new BitSet();
+            for (String versionedFeature : getVersionedFeaturesForVersionless(name)) {
+                platformBits.or(platformIndex.getPlatforms(versionedFeature));
+            }
+            return platformIndex.toPlatformNames(platformBits).stream()
+                    .map(String::toLowerCase)
+                    .collect(Collectors.toUnmodifiableSet());
+        });
+    }
+
+    /**
+     * find require to tolerate feature names. find all versions
+     * @param wlpInfo current feature wlpInformation
+     * @param featureNames feature name list
+     */
+    private static void addRequireTolerateFeatureNames(WlpInformation wlpInfo, Set<String> featureNames) {
+        List<FeatureTolerate> featureTolerates = wlpInfo.getRequireFeatureWithTolerates();
+        if (featureTolerates == null) {
+            return;
+        }
+
+        for (FeatureTolerate featureTolerate : featureTolerates) {
+            String extractedFeatureName = stripVersionlessPrefix(featureTolerate.getFeature());
+            String extractedFeatureNameWithoutVersion = extractedFeatureName.contains("-") ?
+                    extractedFeatureName.substring(0, extractedFeatureName.lastIndexOf("-") + 1) :
+                    extractedFeatureName;
+            featureNames.add(extractedFeatureName);
+            if (featureTolerate.getTolerates() != null && !featureTolerate.getTolerates().isEmpty()) {
+                for (String tolerateVersion : featureTolerate.getTolerates()) {
+                    featureNames.add(extractedFeatureNameWithoutVersion + tolerateVersion);
+                    // if feature names are changed recently. like ejb-3.2 to enterprisebeans-4.0
+                    if (LibertyConstants.changedFeatureNameMap.containsKey(extractedFeatureNameWithoutVersion)) {
+                        featureNames.add(LibertyConstants.changedFeatureNameMap.get(extractedFeatureNameWithoutVersion) + tolerateVersion);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * add all required feature names
+     * @param wlpInfo current feature wlpInformation
+     * @param requiredFeatureNames required feature name array
+     */
+    private static void addRequiredFeatureNames(WlpInformation wlpInfo, Set<String> requiredFeatureNames) {
+        List<String> requireFeatures = wlpInfo.getRequireFeature();
+        if (requireFeatures == null) {
+            return;
+        }
+
+        for (String requireFeature : requireFeatures) {
+            requiredFeatureNames.add(stripVersionlessPrefix(requireFeature));
+        }
+    }
+
+    private static String stripVersionlessPrefix(String featureName) {
+        String prefix = LibertyConstants.IO_OPENLIBERTY_INTERNAL_VERSIONLESS;
+        return featureName.contains(prefix) ?
+                featureName.substring(featureName.lastIndexOf(prefix) + prefix.length()) : featureName;
+    }
+
+    public boolean hasPlatform(String platform) {
+        return platform != null && platformsLowerCase.contains(platform.toLowerCase());
+    }
+
+    public boolean hasFeature(String shortName) {
+        return getFeatureByShortName(shortName) != null;
     }
 }
@@ -21,6 +21,12 @@ public class LibertySettings {
     private String version;
     private String runtime;
     private int requestDelay; // in seconds
+    private int featureCacheMaxEntries; // number of runtime-version feature catalogs kept in memory
+    private int featureCacheMaxFeatures; // total number of features kept in memory across all cached catalogs
+    private boolean backgroundFeatureFetch; // download runtime specific feature catalogs without blocking requests
+    private int downloadCacheTtl; // in seconds, how long a downloaded resource is used before it is revalidated
+    private String artifactRepository; // base url of a Maven Central mirror, http(s) or file
+    private boolean offline; // never request artifacts over the network
 
     public String getVersion() {
         return version;
@@ -46,4 +52,52 @@ public class LibertySettings {
         this.requestDelay = requestDelay;
     }
 
+    public int getFeatureCacheMaxEntries() {
+        return featureCacheMaxEntries;
+    }
+
+    public void setFeatureCacheMaxEntries(int featureCacheMaxEntries) {
+        this.featureCacheMaxEntries = featureCacheMaxEntries;
+    }
+
+    public int getFeatureCacheMaxFeatures() {
+        return featureCacheMaxFeatures;
+    }
+
+    public void setFeatureCacheMaxFeatures(int featureCacheMaxFeatures) {
+        this.featureCacheMaxFeatures = featureCacheMaxFeatures;
+    }
+
+    public boolean isBackgroundFeatureFetch() {
+        return backgroundFeatureFetch;
+    }
+
+    public void setBackgroundFeatureFetch(boolean backgroundFeatureFetch) {
+        this.backgroundFeatureFetch = backgroundFeatureFetch;
+    }
+
+    public int getDownloadCacheTtl() {
+        return downloadCacheTtl;
+    }
+
+    public void setDownloadCacheTtl(int downloadCacheTtl) {
+        this.downloadCacheTtl = downloadCacheTtl;
+    }
+
+    public String getArtifactRepository() {
+        return artifactRepository;
+    }
+
+    public void setArtifactRepository(String artifactRepository) {
+        this.artifactRepository = artifactRepository;
+    }
+
+    public boolean isOffline() {
+        return offline;
+    }
+
+    public void setOffline(boolean offline) {
+        this.offline = offline;
+    }
+
 }
@@ -0,0 +1,184 @@
+/*******************************************************************************
+* Copyright (c) 2025 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package io.openliberty.tools.langserver.lemminx.services;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+import org.eclipse.lemminx.commons.BadLocationException;
+import org.eclipse.lemminx.dom.DOMDocument;
+import org.eclipse.lemminx.dom.DOMNode;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+
+/**
+ * Caches the diagnostics of the top-level sections of Liberty config documents, so that an edit only
+ * re-validates the sections that changed.
+ *
+ * A section is a child of the document element. Its cached diagnostics are keyed by the text of the
+ * section, the column it starts at and the input it was validated with (for example the features
+ * included before it). All sections of a document are dropped when the catalog key changes, which
+ * identifies the feature data the document is validated against. A section that only moved to another
+ * line reuses its diagnostics with their lines shifted.
+ *
+ * Each validation pass keeps only the sections that are still in the document, and at most
+ * MAX_DOCUMENTS documents are cached.
+ */
+public class DiagnosticsSectionCache {
+
+    private static final Logger LOGGER = Logger.getLogger(DiagnosticsSectionCache.class.getName());
+    private static final int MAX_DOCUMENTS = 16;
+
+    private final Map<String, DocumentSections> documents = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, DocumentSections> eldest) {
+            return size() > MAX_DOCUMENTS;
+        }
+    };
+
+    private long hits;
+    private long misses;
+
+    /**
+     * Starts a validation pass of the passed document. The pass must be finished for its results
+     * to be used by the next pass.
+     *
+     * @param catalogKey identifies the feature data the document is validated against, compared with equals
+     */
+    public Pass startPass(DOMDocument domDocument, Object catalogKey) {
+        DocumentSections previous;
+        synchronized (this) {
+            previous = documents.get(domDocument.getDocumentURI());
+        }
+        Map<SectionKey, Section> previousSections = (previous != null && Objects.equals(previous.catalogKey, catalogKey))
+                ? previous.sections : Map.of();
+        return new Pass(domDocument, catalogKey, previousSections);
+    }
+
+    public synchronized void clear() {
+        documents.clear();
+    }
+
+    public synchronized String getStats() {
+        return "Diagnostics section cache: documents=%d hits=%d misses=%d".formatted(documents.size(), hits, misses);
+    }
+
+    private synchronized void finish(Pass pass, int passHits, int passMisses) {
+        documents.put(pass.domDocument.getDocumentURI(), new DocumentSections(pass.catalogKey, pass.sections));
+        hits += passHits;
+        misses += passMisses;
+        LOGGER.fine(() -> "Validated " + pass.domDocument.getDocumentURI() + " with " + passHits + " cached and " + passMisses
+                + " changed sections. " + getStats());
+    }
+
+    /**
+     * A single validation pass of a document. Not thread safe, a pass is used by the thread validating the document.
+     */
+    public class Pass {
+
+        private final DOMDocument domDocument;
+        private final Object catalogKey;
+        private final Map<SectionKey, Section> previousSections;
+        private final Map<SectionKey, Section> sections = new HashMap<>();
+        private int passHits;
+        private int passMisses;
+
+        private Pass(DOMDocument domDocument, Object catalogKey, Map<SectionKey, Section> previousSections) {
+            this.domDocument = domDocument;
+            this.catalogKey = catalogKey;
+            this.previousSections = previousSections;
+        }
+
+        /**
+         * Adds the diagnostics of the passed top-level section to the diagnostics list, running the validator
+         * only if the section was not validated with the same text, column and input before.
+         *
+         * @param input     everything besides the section text and the catalog that the validator depends on, compared with equals
+         * @param validator adds the diagnostics of the section to the passed list, and returns a result that is
+         *                  cached with them. The result must not be modified afterwards.
+         * @return the result of the validator
+         */
+        @SuppressWarnings("unchecked")
+        public <T> T validate(DOMNode node, Object input, List<Diagnostic> diagnosticsList, Function<List<Diagnostic>, T> validator) {
+            Position start;
+            try {
+                start = domDocument.positionAt(node.getStart());
+            } catch (BadLocationException e) {
+                LOGGER.warning("Unable to locate section " + node.getNodeName() + " in " + domDocument.getDocumentURI() + ": " + e.getMessage());
+                return validator.apply(diagnosticsList);
+            }
+            String text = domDocument.getText().substring(node.getStart(), node.getEnd());
+            SectionKey key = new SectionKey(text, start.getCharacter(), input);
+
+            Section section = sections.get(key);
+            if (section == null) {
+                section = previousSections.get(key);
+            }
+            if (section == null) {
+                List<Diagnostic> sectionDiagnostics = new ArrayList<>();
+                Object result = validator.apply(sectionDiagnostics);
+                section = new Section(start.getLine(), sectionDiagnostics, result);
+                passMisses++;
+            } else {
+                passHits++;
+            }
+            sections.put(key, section);
+
+            int lineDelta = start.getLine() - section.line;
+            for (Diagnostic diagnostic : section.diagnostics) {
+                diagnosticsList.add(copy(diagnostic, lineDelta));
+            }
+            return (T) section.result;
+        }
+
+        /**
+         * Stores the sections validated in this pass for the next pass of the document.
+         */
+        public void finish() {
+            DiagnosticsSectionCache.this.finish(this, passHits, passMisses);
+        }
+    }
+
+    // cached diagnostics are never handed out, so later changes to a published diagnostic do not affect the cache
+    private static Diagnostic copy(Diagnostic diagnostic, int lineDelta) {
+        Diagnostic copy = new Diagnostic(shift(diagnostic.getRange(), lineDelta), diagnostic.getMessage(),
+                diagnostic.getSeverity(), diagnostic.getSource());
+        copy.setCode(diagnostic.getCode());
+        copy.setData(diagnostic.getData());
+        copy.setTags(diagnostic.getTags());
+        copy.setRelatedInformation(diagnostic.getRelatedInformation());
+        copy.setCodeDescription(diagnostic.getCodeDescription());
+        return copy;
+    }
+
+    private static Range shift(Range range, int lineDelta) {
+        return new Range(new Position(range.getStart().getLine() + lineDelta, range.getStart().getCharacter()),
+                new Position(range.getEnd().getLine() + lineDelta, range.getEnd().getCharacter()));
+    }
+
+    private record SectionKey(String text, int startColumn, Object input) {
+    }
+
+    private record Section(int line, List<Diagnostic> diagnostics, Object result) {
+    }
+
+    private record DocumentSections(Object catalogKey, Map<SectionKey, Section> sections) {
+    }
+}
@@ -0,0 +1,157 @@
+/*******************************************************************************
+* Copyright (c) 2025 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package io.openliberty.tools.langserver.lemminx.services;
+
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.logging.Logger;
+
+import io.openliberty.tools.langserver.lemminx.models.feature.FeaturesAndPlatforms;
+
+/**
+ * Least recently used cache of feature catalogs keyed by runtime-version. The cache is bounded both by
+ * the number of catalogs and by the total number of features they hold. The limits are read from the
+ * SettingsService on every insert so that setting changes apply without a restart.
+ *
+ * An evicted catalog is kept behind a SoftReference so the garbage collector decides when the memory is
+ * really needed. If it has been collected, the reloader registered with the entry is used to read the
+ * catalog back from its downloaded copy on disk instead of going to Maven Central again.
+ */
+public class FeatureCatalogCache {
+
+    private static final Logger LOGGER = Logger.getLogger(FeatureCatalogCache.class.getName());
+
+    private final LinkedHashMap<String, FeaturesAndPlatforms> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, SoftReference<FeaturesAndPlatforms>> evictedEntries = new HashMap<>();
+    private final Map<String, Callable<FeaturesAndPlatforms>> reloaders = new HashMap<>();
+    private int totalFeatures;
+
+    private long hits;
+    private long softHits;
+    private long reloads;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Returns the catalog for the passed key, reloading it from disk if it was evicted and collected.
+     *
+     * @return the catalog, or null if it is not cached and cannot be reloaded
+     */
+    public FeaturesAndPlatforms get(String key) {
+        Callable<FeaturesAndPlatforms> reloader;
+        synchronized (this) {
+            FeaturesAndPlatforms fp = entries.get(key);
+            if (fp != null) {
+                hits++;
+                return fp;
+            }
+            SoftReference<FeaturesAndPlatforms> ref = evictedEntries.remove(key);
+            fp = ref == null ? null : ref.get();
+            if (fp != null) {
+                softHits++;
+                LOGGER.fine("Restored evicted feature catalog from memory for: " + key);
+                insert(key, fp);
+                return fp;
+            }
+            reloader = reloaders.get(key);
+            if (reloader == null) {
+                misses++;
+                return null;
+            }
+        }
+
+        // read outside the lock, the on-disk copy may take a moment to load
+        try {
+            FeaturesAndPlatforms fp = reloader.call();
+            if (fp != null) {
+                synchronized (this) {
+                    reloads++;
+                    LOGGER.fine("Reloaded evicted feature catalog from disk for: " + key);
+                    insert(key, fp);
+                }
+                return fp;
+            }
+        } catch (Exception e) {
+            LOGGER.warning("Unable to reload feature catalog from disk for " + key + ": " + e.getMessage());
+        }
+        synchronized (this) {
+            reloaders.remove(key);
+            misses++;
+        }
+        return null;
+    }
+
+    /**
+     * Adds a catalog to the cache.
+     *
+     * @param reloader reads the catalog back from disk after eviction, may be null
+     */
+    public synchronized void put(String key, FeaturesAndPlatforms fp, Callable<FeaturesAndPlatforms> reloader) {
+        if (reloader != null) {
+            reloaders.put(key, reloader);
+        }
+        evictedEntries.remove(key);
+        insert(key, fp);
+    }
+
+    private void insert(String key, FeaturesAndPlatforms fp) {
+        // catalogs the garbage collector already took are only reachable through their reloader
+        evictedEntries.values().removeIf(ref -> ref.get() == null);
+        FeaturesAndPlatforms previous = entries.put(key, fp);
+        if (previous != null) {
+            totalFeatures -= weight(previous);
+        }
+        totalFeatures += weight(fp);
+        evictIfNeeded(key);
+    }
+
+    private void evictIfNeeded(String keyToKeep) {
+        int maxEntries = SettingsService.getInstance().getFeatureCacheMaxEntries();
+        int maxFeatures = SettingsService.getInstance().getFeatureCacheMaxFeatures();
+
+        Iterator<Map.Entry<String, FeaturesAndPlatforms>> it = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || totalFeatures > maxFeatures) && it.hasNext()) {
+            Map.Entry<String, FeaturesAndPlatforms> eldest = it.next();
+            // always keep the entry just added, even if it alone is over the feature limit
+            if (eldest.getKey().equals(keyToKeep)) {
+                continue;
+            }
+            it.remove();
+            totalFeatures -= weight(eldest.getValue());
+            evictedEntries.put(eldest.getKey(), new SoftReference<>(eldest.getValue()));
+            evictions++;
+            LOGGER.fine("Evicted feature catalog for: " + eldest.getKey() + ". " + getStats());
+        }
+    }
+
+    private static int weight(FeaturesAndPlatforms fp) {
+        return fp.getPublicFeatures().size() + fp.getPrivateFeatures().size();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    public synchronized String getStats() {
+        return "Feature catalog cache: entries=%d features=%d hits=%d softHits=%d diskReloads=%d misses=%d evictions=%d"
+                .formatted(entries.size(), totalFeatures, hits, softHits, reloads, misses, evictions);
+    }
+}
@@ -12,32 +12,42 @@
 *******************************************************************************/
 package io.openliberty.tools.langserver.lemminx.services;
 
+import java.io.BufferedInputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.File;
-import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 import io.openliberty.tools.langserver.lemminx.models.feature.FeatureTolerate;
 import io.openliberty.tools.langserver.lemminx.models.feature.FeaturesAndPlatforms;
-import io.openliberty.tools.langserver.lemminx.models.feature.PrivateFeature;
 
+import io.openliberty.tools.langserver.lemminx.util.CompressedResourceUtil;
+import io.openliberty.tools.langserver.lemminx.util.FeaturesSnapshotUtil;
+import io.openliberty.tools.langserver.lemminx.util.InstallationCacheUtil;
 import io.openliberty.tools.langserver.lemminx.util.LibertyVersionDownloadUtil;
 import io.openliberty.tools.langserver.lemminx.util.SchemaAndFeatureListGeneratorUtil;
+import io.openliberty.tools.langserver.lemminx.util.XmlReader;
 import org.eclipse.lemminx.dom.DOMDocument;
 import org.eclipse.lemminx.dom.DOMNode;
 import org.eclipse.lemminx.uriresolver.CacheResourcesManager;
@@ -45,18 +55,22 @@ import org.eclipse.lemminx.uriresolver.CacheResourcesManager.ResourceToDeploy;
 
 import java.util.stream.Collectors;
 
-import jakarta.xml.bind.JAXBContext;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import jakarta.xml.bind.JAXBException;
-import jakarta.xml.bind.Unmarshaller;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
 import io.openliberty.tools.langserver.lemminx.data.ConfigElementNode;
 import io.openliberty.tools.langserver.lemminx.data.FeatureListGraph;
 import io.openliberty.tools.langserver.lemminx.data.FeatureListNode;
+import io.openliberty.tools.langserver.lemminx.data.PlatformIndex;
 import io.openliberty.tools.langserver.lemminx.models.feature.Feature;
-import io.openliberty.tools.langserver.lemminx.models.feature.FeatureInfo;
 import io.openliberty.tools.langserver.lemminx.models.feature.WlpInformation;
 import io.openliberty.tools.langserver.lemminx.util.LibertyConstants;
 import io.openliberty.tools.langserver.lemminx.util.LibertyUtils;
@@ -66,7 +80,7 @@ import static io.openliberty.tools.langserver.lemminx.util.LibertyConstants.VERS
 public class FeatureService {
 
     private static final Logger LOGGER = Logger.getLogger(FeatureService.class.getName());
-    public static final String IO_OPENLIBERTY_INTERNAL_VERSIONLESS = "io.openliberty.internal.versionless.";
+    public static final String IO_OPENLIBERTY_INTERNAL_VERSIONLESS = LibertyConstants.IO_OPENLIBERTY_INTERNAL_VERSIONLESS;
 
     // Singleton so that only 1 Feature Service can be initialized and is
     // shared between all Lemminx Language Feature Participants
@@ -98,10 +112,24 @@ public class FeatureService {
      * Declared public to be used by tests
      */
     private static ResourceToDeploy FEATURELIST_XML_RESOURCE;
+    // Single daemon thread so background downloads never pile up or keep the language server alive
+    private static final ExecutorService BACKGROUND_FETCH_EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "liberty-feature-fetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Generates the installed feature list after a failed background fetch, so that fetches for other keys are not held back
+    private static final ExecutorService INSTALLED_FEATURES_EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "liberty-installed-features");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Configured once and shared, creating readers from a configured factory is thread safe
+    private static final XMLInputFactory FEATURELIST_XML_INPUT_FACTORY = XmlReader.getXmlInputFactory();
     private static final ResourceToDeploy FEATURELIST_XML_RESOURCE_DEFAULT = new ResourceToDeploy(FEATURELIST_XML_RESOURCE_URL_DEFAULT,
             FEATURELIST_XML_CLASSPATH_LOCATION_DEFAULT) ;
 
-    public static FeatureService getInstance() {
+    public static synchronized FeatureService getInstance() {
         if (instance == null) {
             instance = new FeatureService();
             FEATURELIST_XML_RESOURCE = new ResourceToDeploy(FEATURELIST_XML_RESOURCE_URL.formatted(SettingsService.getInstance().getCurrentLocale().toString()),
@@ -111,40 +139,89 @@ public class FeatureService {
     }
 
     // Cache of Liberty version -> list of supported features
-    private Map<String, FeaturesAndPlatforms> featureAndPlatformCache;   // the key consists of runtime-version, where runtime is 'ol' or 'wlp'
-    private FeaturesAndPlatforms defaultFeaturesAndPlatforms;
-    private FeatureListGraph defaultFeatureList;
-    private long featureUpdateTime;
+    private volatile FeatureCatalogCache featureAndPlatformCache;   // the key consists of runtime-version, where runtime is 'ol' or 'wlp'
+    // Loads currently in progress, so that concurrent requests for the same key share one fetch and parse
+    private final Map<String, CompletableFuture<FeaturesAndPlatforms>> inFlightLoads;
+    // Keys with a background fetch queued or running, and the listeners to notify when one completes
+    private final Set<String> backgroundFetches = ConcurrentHashMap.newKeySet();
+    // Keys with an installed feature list generation queued or running after a failed background fetch
+    private final Set<String> installedFeatureGenerations = ConcurrentHashMap.newKeySet();
+    private final List<Consumer<String>> catalogLoadedListeners = new CopyOnWriteArrayList<>();
+    private volatile FeaturesAndPlatforms defaultFeaturesAndPlatforms;
+    private volatile FeatureListGraph defaultFeatureList;
+    // Failed features json downloads, remembered per URL
+    private final FetchBackoff fetchBackoff = new FetchBackoff();
+    // Failed background fetches, remembered per runtime-version key so they are not queued again on every request
+    private final FetchBackoff backgroundFetchBackoff = new FetchBackoff();
 
     private FeatureService() {
-        featureAndPlatformCache = new HashMap<>();
-        featureUpdateTime = -1;
+        featureAndPlatformCache = new FeatureCatalogCache();
+        inFlightLoads = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Runs the loader for the passed key unless a load for the same key is already in progress,
+     * in which case the caller waits for and shares the result of that load. The loader is
+     * expected to handle its own errors; an exception is rethrown to every waiting caller.
+     */
+    private <T> T loadOnce(String key, Map<String, CompletableFuture<T>> inFlight, Callable<T> loader) throws Exception {
+        CompletableFuture<T> newLoad = new CompletableFuture<>();
+        CompletableFuture<T> existingLoad = inFlight.putIfAbsent(key, newLoad);
+        if (existingLoad != null) {
+            LOGGER.fine("Waiting for load already in progress for: " + key);
+            try {
+                return existingLoad.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            }
+        }
+        try {
+            T result = loader.call();
+            newLoad.complete(result);
+            return result;
+        } catch (Exception e) {
+            newLoad.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, newLoad);
+        }
     }
 
     /**
      * Fetches information about Liberty features from Maven repo
      *
+     * The features json is cached under ~/.lemminx/cache and revalidated with a conditional GET, so an unchanged
+     * json costs one request and its parsed snapshot is reused. A URL that failed recently is not requested again
+     * until its backoff has passed. In the meantime, or if the download fails, the cached json is used if there is one.
+     *
      * @param libertyVersion - version of Liberty to fetch features for
+     * @param requestDelay - seconds to wait before requesting a URL again after its first failure
      * @return list of features supported by the provided version of Liberty
      */
-    private FeaturesAndPlatforms fetchFeaturesForVersion(String libertyVersion, String libertyRuntime, LibertyWorkspace workspaceFolder) throws IOException, JsonParseException {
-        String featureEndpoint = libertyRuntime.equals("wlp") ? String.format(wlpFeatureEndpoint, libertyVersion) :
-                                                                String.format(olFeatureEndpoint, libertyVersion);
-
-        URL featureJsonURL = new URL(featureEndpoint);
-        File tempDir = LibertyUtils.getTempDir(workspaceFolder);
-        File jsonDestFile = new File(tempDir, featureJsonURL.getFile());
-        LibertyVersionDownloadUtil.getResource(featureEndpoint,jsonDestFile.getPath());
-        // saving feature.json to .libertyls folder first and then reading from there
+    private FeaturesAndPlatforms fetchFeaturesForVersion(String libertyVersion, String libertyRuntime, int requestDelay) throws IOException, JsonParseException {
+        String featureEndpoint = getFeatureEndpoint(libertyVersion, libertyRuntime);
+        File jsonDestFile = getFeatureJsonFile(featureEndpoint);
+        if (fetchBackoff.isBackingOff(featureEndpoint)) {
+            if (!jsonDestFile.isFile()) {
+                throw new IOException("Skipping download of " + featureEndpoint + " after a recent failure");
+            }
+            LOGGER.fine("Skipping download of %s after a recent failure, using %s".formatted(featureEndpoint, jsonDestFile));
+        } else if (LibertyVersionDownloadUtil.getResource(featureEndpoint, jsonDestFile.getPath()) != null) {
+            fetchBackoff.recordSuccess(featureEndpoint);
+        } else {
+            long retryDelay = fetchBackoff.recordFailure(featureEndpoint, requestDelay * 1000L);
+            if (!jsonDestFile.isFile()) {
+                throw new IOException("Unable to download %s, retrying in %d seconds".formatted(featureEndpoint, retryDelay / 1000));
+            }
+            LOGGER.warning("Unable to download %s, using previously downloaded %s".formatted(featureEndpoint, jsonDestFile));
+        }
+        // saving feature.json to the cache folder first and then reading from there
         // saved because this would help to show URL in hover
-        InputStreamReader reader = new InputStreamReader(new FileInputStream(jsonDestFile));
-
-        // Only need the public features
-        FeaturesAndPlatforms fp = readFeaturesAndPlatforms(reader);
+        FeaturesAndPlatforms fp = readFeaturesAndPlatforms(jsonDestFile, libertyRuntime, libertyVersion);
 
         if (libertyRuntime.equals("wlp")) {
             // need to also get the OpenLiberty features and add them to the list to return
-            FeaturesAndPlatforms olFP = fetchFeaturesForVersion(libertyVersion, "ol", workspaceFolder);
+            FeaturesAndPlatforms olFP = fetchFeaturesForVersion(libertyVersion, "ol", requestDelay);
             fp.addFeaturesAndPlatforms(olFP);
         }
 
@@ -154,82 +231,243 @@ public class FeatureService {
         return fp;
     }
 
+    private static String getFeatureEndpoint(String libertyVersion, String libertyRuntime) {
+        return libertyRuntime.equals("wlp") ? String.format(wlpFeatureEndpoint, libertyVersion) :
+                                              String.format(olFeatureEndpoint, libertyVersion);
+    }
+
+    private static File getFeatureJsonFile(String featureEndpoint) {
+        return LibertyVersionDownloadUtil.getCacheFilePath(featureEndpoint).toFile();
+    }
+
+    /**
+     * Reads the features json previously downloaded by fetchFeaturesForVersion back from the cache folder.
+     * Used to restore a catalog that was evicted from the in-memory cache.
+     *
+     * @return the features and platforms, or null if the downloaded json is no longer on disk
+     */
+    private FeaturesAndPlatforms readDownloadedFeaturesForVersion(String libertyVersion, String libertyRuntime) throws IOException, JsonParseException {
+        File jsonFile = getFeatureJsonFile(getFeatureEndpoint(libertyVersion, libertyRuntime));
+        if (!jsonFile.isFile()) {
+            return null;
+        }
+        FeaturesAndPlatforms fp = readFeaturesAndPlatforms(jsonFile, libertyRuntime, libertyVersion);
+        if (libertyRuntime.equals("wlp")) {
+            FeaturesAndPlatforms olFP = readDownloadedFeaturesForVersion(libertyVersion, "ol");
+            if (olFP == null) {
+                return null;
+            }
+            fp.addFeaturesAndPlatforms(olFP);
+        }
+        return fp;
+    }
+
     /**
      * Returns the default list of features and platforms
      *
      * @return list of features and platforms supported by the default version of Liberty
      */
     private FeaturesAndPlatforms getDefaultFeaturesAndPlatforms() {
-        InputStream is = null;
+        if (defaultFeaturesAndPlatforms == null) {
+            loadDefaultFeaturesAndPlatforms();
+        }
+        LOGGER.info("Returning default list of features and platforms");
+        return defaultFeaturesAndPlatforms;
+    }
+
+    private synchronized void loadDefaultFeaturesAndPlatforms() {
         if (defaultFeaturesAndPlatforms == null) {
             try {
-                Path featureVersionPath = LibertyVersionDownloadUtil.downloadAndCacheLatestResource(FEATURES_JSON_URI, null);
-                if (featureVersionPath != null) {
-                    is = new FileInputStream(featureVersionPath.toFile());
-                    LOGGER.info("Setting feature json by downloading latest version cached to %s".formatted(featureVersionPath));
-                    SettingsService.getInstance().setFeatureJsonFilePath(featureVersionPath);
+                Path featureJsonPath = LibertyVersionDownloadUtil.downloadAndCacheLatestResource(FEATURES_JSON_URI, null);
+                if (featureJsonPath != null) {
+                    LOGGER.info("Setting feature json by downloading latest version cached to %s".formatted(featureJsonPath));
                 } else {
                     // falling back to the json stored in local
                     // caching this to .lemminx folder as well to show URL in hover
                     ResourceToDeploy featureJsonResource = new ResourceToDeploy(FEATURES_CACHED_25_0_0_6_JSON, DEFAULT_FEATURES_JSON_FILENAME);
-                    Path deployedPath = CacheResourcesManager.getResourceCachePath(featureJsonResource);
-                    is = new FileInputStream(deployedPath.toFile());
-                    LOGGER.info("Setting feature json by caching local version stored in classpath to %s".formatted(deployedPath));
-                    SettingsService.getInstance().setFeatureJsonFilePath(deployedPath);
+                    featureJsonPath = CacheResourcesManager.getResourceCachePath(featureJsonResource);
+                    LOGGER.info("Setting feature json by caching local version stored in classpath to %s".formatted(featureJsonPath));
                 }
-                InputStreamReader reader = new InputStreamReader(is, StandardCharsets.UTF_8);
+                SettingsService.getInstance().setFeatureJsonFilePath(featureJsonPath);
+
+                // the file name is features-<version>.json or features-cached-<version>.json
+                String fileName = featureJsonPath.getFileName().toString();
+                String version = fileName.substring(fileName.lastIndexOf("-") + 1).replace(".json", "");
 
                 // Only need the public features
-                defaultFeaturesAndPlatforms = readFeaturesAndPlatforms(reader);
+                defaultFeaturesAndPlatforms = readFeaturesAndPlatforms(featureJsonPath.toFile(), "ol", version);
             } catch (JsonParseException | IOException e) {
                 // unable to read json in resources file, return empty list
                 LOGGER.severe("Error: Unable to get default features and platforms.");
                 defaultFeaturesAndPlatforms = new FeaturesAndPlatforms();
-                return defaultFeaturesAndPlatforms;
             } catch (Exception e) {
                 LOGGER.severe("Error: " + e.getMessage());
                 defaultFeaturesAndPlatforms = new FeaturesAndPlatforms();
-                return defaultFeaturesAndPlatforms;
-            } finally {
-                if (is != null) {
-                    try {
-                        is.close();
-                    } catch (IOException e) {
-                        LOGGER.severe("Error: Unable to close input stream " + e.getMessage());
-                    }
-                }
             }
         }
-        LOGGER.info("Returning default list of features and platforms");
-        return defaultFeaturesAndPlatforms;
+    }
+
+    /**
+     * Returns the features and platforms from the passed features json file. Uses the binary snapshot
+     * stored next to the json file when it matches the runtime, version and content of the json,
+     * otherwise parses the json and writes a new snapshot for the next start.
+     *
+     * @param jsonFile features json file
+     * @param libertyRuntime runtime the json belongs to
+     * @param libertyVersion version the json belongs to
+     * @return FeaturesAndPlatforms with a list of public features, list of private features, and set of available platforms.
+     */
+    private FeaturesAndPlatforms readFeaturesAndPlatforms(File jsonFile, String libertyRuntime, String libertyVersion) throws IOException, JsonParseException {
+        String contentHash = FeaturesSnapshotUtil.hash(jsonFile);
+        FeaturesAndPlatforms fp = FeaturesSnapshotUtil.readSnapshot(jsonFile, libertyRuntime, libertyVersion, contentHash);
+        if (fp != null) {
+            LOGGER.fine("Loaded features and platforms from snapshot of " + jsonFile);
+            return fp;
+        }
+        try (InputStreamReader reader = new InputStreamReader(new FileInputStream(jsonFile), StandardCharsets.UTF_8)) {
+            fp = readFeaturesAndPlatforms(reader);
+        }
+        FeaturesSnapshotUtil.writeSnapshot(jsonFile, libertyRuntime, libertyVersion, contentHash, fp);
+        return fp;
     }
 
     /**
      * Returns an object with a list of public features found in the passed input stream. Does not affect the default feature list.
      * The returned object also contains a list of private features, and a set of available platforms.
+     * 
+     * The json is streamed and only the fields used by the language server are materialized: name, shortDescription and
+     * the wlpInformation shortName, visibility, platforms, requireFeature and requireFeatureWithTolerates. All other
+     * fields, and features that are neither public nor private, are skipped without being built.
      *
      * @param reader - InputStreamReader for json feature list
      * @return FeaturesAndPlatforms with a list of public features, list of private features, and set of available platforms.
      */
-    private FeaturesAndPlatforms readFeaturesAndPlatforms(InputStreamReader reader) throws JsonParseException {
-        Feature[] featureList = new Gson().fromJson(reader, Feature[].class);
-
+    private FeaturesAndPlatforms readFeaturesAndPlatforms(InputStreamReader reader) throws JsonParseException, IOException {
         ArrayList<Feature> publicFeatures = new ArrayList<>();
         ArrayList<Feature> privateFeatures = new ArrayList<>();
 
-        // Guard against null visibility field. Ran into this during manual testing of a wlp installation.
-        for (int i=0; i < featureList.length; i++) {
-            if (featureList[i].getWlpInformation().getVisibility() != null) {
-                if (featureList[i].getWlpInformation().getVisibility().equals(LibertyConstants.PUBLIC_VISIBILITY)) {
-                    publicFeatures.add(featureList[i]);
-                } else if (featureList[i].getWlpInformation().getVisibility().equals(LibertyConstants.PRIVATE_VISIBILITY)) {
-                    privateFeatures.add(featureList[i]);
+        try {
+            JsonReader jsonReader = new JsonReader(reader);
+            jsonReader.beginArray();
+            while (jsonReader.hasNext()) {
+                Feature feature = readFeature(jsonReader);
+                // Guard against null visibility field. Ran into this during manual testing of a wlp installation.
+                if (feature == null) {
+                    continue;
+                }
+                String visibility = feature.getWlpInformation().getVisibility();
+                if (visibility.equals(LibertyConstants.PUBLIC_VISIBILITY)) {
+                    publicFeatures.add(feature);
+                } else {
+                    privateFeatures.add(feature);
                 }
             }
+            jsonReader.endArray();
+        } catch (IllegalStateException | NumberFormatException e) {
+            throw new JsonParseException(e);
         }
         return new FeaturesAndPlatforms(publicFeatures, privateFeatures);
     }
 
+    /**
+     * Reads the next feature object from the json stream.
+     *
+     * @return the feature, or null if the feature is neither public nor private
+     */
+    private Feature readFeature(JsonReader jsonReader) throws IOException {
+        String name = null;
+        String shortDescription = null;
+        WlpInformation wlpInfo = null;
+
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            switch (jsonReader.nextName()) {
+                case "name" -> name = nextStringOrNull(jsonReader);
+                case "shortDescription" -> shortDescription = nextStringOrNull(jsonReader);
+                case "wlpInformation" -> wlpInfo = readWlpInformation(jsonReader);
+                default -> jsonReader.skipValue();
+            }
+        }
+        jsonReader.endObject();
+
+        if (wlpInfo == null || !(LibertyConstants.PUBLIC_VISIBILITY.equals(wlpInfo.getVisibility())
+                || LibertyConstants.PRIVATE_VISIBILITY.equals(wlpInfo.getVisibility()))) {
+            return null;
+        }
+        Feature feature = new Feature();
+        feature.setName(name);
+        feature.setShortDescription(shortDescription);
+        feature.setWlpInformation(wlpInfo);
+        return feature;
+    }
+
+    private WlpInformation readWlpInformation(JsonReader jsonReader) throws IOException {
+        if (jsonReader.peek() == JsonToken.NULL) {
+            jsonReader.nextNull();
+            return null;
+        }
+        WlpInformation wlpInfo = new WlpInformation(null);
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            switch (jsonReader.nextName()) {
+                case "shortName" -> wlpInfo.setShortName(nextStringOrNull(jsonReader));
+                case "visibility" -> wlpInfo.setVisibility(nextStringOrNull(jsonReader));
+                case "platforms" -> wlpInfo.setPlatforms(readStringArray(jsonReader));
+                case "requireFeature" -> wlpInfo.setRequireFeature(readStringArray(jsonReader));
+                case "requireFeatureWithTolerates" -> wlpInfo.setRequireFeatureWithTolerates(readFeatureTolerates(jsonReader));
+                default -> jsonReader.skipValue();
+            }
+        }
+        jsonReader.endObject();
+        return wlpInfo;
+    }
+
+    private List<FeatureTolerate> readFeatureTolerates(JsonReader jsonReader) throws IOException {
+        if (jsonReader.peek() == JsonToken.NULL) {
+            jsonReader.nextNull();
+            return null;
+        }
+        List<FeatureTolerate> featureTolerates = new ArrayList<>();
+        jsonReader.beginArray();
+        while (jsonReader.hasNext()) {
+            FeatureTolerate featureTolerate = new FeatureTolerate();
+            jsonReader.beginObject();
+            while (jsonReader.hasNext()) {
+                switch (jsonReader.nextName()) {
+                    case "feature" -> featureTolerate.setFeature(nextStringOrNull(jsonReader));
+                    case "tolerates" -> featureTolerate.setTolerates(readStringArray(jsonReader));
+                    default -> jsonReader.skipValue();
+                }
+            }
+            jsonReader.endObject();
+            featureTolerates.add(featureTolerate);
+        }
+        jsonReader.endArray();
+        return featureTolerates;
+    }
+
+    private ArrayList<String> readStringArray(JsonReader jsonReader) throws IOException {
+        if (jsonReader.peek() == JsonToken.NULL) {
+            jsonReader.nextNull();
+            return null;
+        }
+        ArrayList<String> values = new ArrayList<>();
+        jsonReader.beginArray();
+        while (jsonReader.hasNext()) {
+            values.add(nextStringOrNull(jsonReader));
+        }
+        jsonReader.endArray();
+        return values;
+    }
+
+    private String nextStringOrNull(JsonReader jsonReader) throws IOException {
+        if (jsonReader.peek() == JsonToken.NULL) {
+            jsonReader.nextNull();
+            return null;
+        }
+        return jsonReader.nextString();
+    }
+
     /**
      * Returns the Liberty features corresponding to the Liberty version. First
      * attempts to fetch the feature json from Maven, otherwise falls back to the
@@ -238,7 +476,7 @@ public class FeatureService {
      * 
      * @param libertyVersion Liberty version (corresponds to XML document)
      * @param libertyRuntime Liberty runtime (corresponds to XML document)
-     * @param requestDelay Time to wait in between feature list requests to Maven
+     * @param requestDelay Time to wait before requesting a features json from Maven again after it failed to download
      * @param documentURI Liberty XML document
      * @return List of possible features
      */
@@ -253,9 +491,10 @@ public class FeatureService {
         String featureCacheKey = libertyRuntime + "-" + libertyVersion;
 
         // if the features are already cached in the feature cache
-        if (featureAndPlatformCache.containsKey(featureCacheKey)) {
+        FeaturesAndPlatforms cachedFeatures = featureAndPlatformCache.get(featureCacheKey);
+        if (cachedFeatures != null) {
             LOGGER.info("Getting cached features and platforms for: " + featureCacheKey);
-            return featureAndPlatformCache.get(featureCacheKey);
+            return cachedFeatures;
         }
 
         LOGGER.info("Getting features and platforms for: " + featureCacheKey);
@@ -264,17 +503,28 @@ public class FeatureService {
         // - beta runtimes do not have a published features.json in mc
         if (!libertyVersion.endsWith("-beta")) {
             try {
-                // verify that request delay (seconds) has gone by since last fetch request
-                // Note that the default delay is 10 seconds and can cause us to generate a feature list instead of download from MC when
-                // switching back and forth between projects.
-                long currentTime = System.currentTimeMillis();
-                if (this.featureUpdateTime == -1 || currentTime >= (this.featureUpdateTime + (requestDelay * 1000))) {
-                    LibertyWorkspace workspaceFolder = LibertyProjectsManager.getInstance().getWorkspaceFolder(documentURI);
-                    FeaturesAndPlatforms features = fetchFeaturesForVersion(libertyVersion, libertyRuntime, workspaceFolder);
-                    featureAndPlatformCache.put(featureCacheKey, features);
-                    this.featureUpdateTime = System.currentTimeMillis();
+                // Downloads are only delayed for a URL that failed recently, so a fetch for one runtime-version never
+                // holds back another. A request that arrives while another thread is fetching the same key joins that fetch.
+                LibertyWorkspace workspaceFolder = LibertyProjectsManager.getInstance().getWorkspaceFolder(documentURI);
+                FeatureCatalogCache cache = featureAndPlatformCache;
+                Callable<FeaturesAndPlatforms> fetch = () -> {
+                    FeaturesAndPlatforms cached = cache.get(featureCacheKey);
+                    if (cached != null) {
+                        return cached;
+                    }
+                    FeaturesAndPlatforms features = fetchFeaturesForVersion(libertyVersion, libertyRuntime, requestDelay);
+                    cache.put(featureCacheKey, features, () -> readDownloadedFeaturesForVersion(libertyVersion, libertyRuntime));
                     return features;
+                };
+                if (!SettingsService.getInstance().isBackgroundFeatureFetch()) {
+                    return loadOnce(featureCacheKey, inFlightLoads, fetch);
+                }
+                // do not block the request on the download, serve what is available until the catalog is loaded.
+                // A fetch that failed recently is not queued again, the installed features are generated in the background instead.
+                if (!isBackgroundFetchFailing(featureCacheKey, libertyVersion, libertyRuntime)) {
+                    fetchFeaturesInBackground(featureCacheKey, fetch, requestDelay, documentURI, libertyRuntime, libertyVersion);
                 }
+                return getAvailableFeaturesAndPlatforms(workspaceFolder);
             } catch (Exception e) {
                 // do nothing, continue on to returning default feature list
                 LOGGER.warning("Received exception when trying to download features from Maven Central: "+e.getMessage());
@@ -282,7 +532,7 @@ public class FeatureService {
         }
 
         // fetch installed features list - this would only happen if a features.json was not able to be downloaded from Maven Central
-        // This is the case for beta runtimes and for very old runtimes pre 18.0.0.2 (or if within the requestDelay window of 120 seconds).
+        // This is the case for beta runtimes and for very old runtimes pre 18.0.0.2 (or while the features json download is backing off after a failure).
         FeaturesAndPlatforms installedFeatures = getInstalledFeaturesList(documentURI, libertyRuntime, libertyVersion);
         if (installedFeatures.getPublicFeatures().size() != 0) {
             return installedFeatures;
@@ -294,11 +544,114 @@ public class FeatureService {
         return defaultFeaturesAndPlatforms;
     }
 
+    /**
+     * Returns true if a background fetch of the key failed recently, or if the features json download it
+     * depends on is backing off and there is no previously downloaded json to read instead. Such a fetch
+     * is not queued again until the backoff has passed.
+     */
+    private boolean isBackgroundFetchFailing(String featureCacheKey, String libertyVersion, String libertyRuntime) {
+        if (backgroundFetchBackoff.isBackingOff(featureCacheKey)) {
+            return true;
+        }
+        String featureEndpoint = getFeatureEndpoint(libertyVersion, libertyRuntime);
+        return fetchBackoff.isBackingOff(featureEndpoint) && !getFeatureJsonFile(featureEndpoint).isFile();
+    }
+
+    /**
+     * Runs the passed fetch on the background executor unless a background fetch for the same key is already
+     * queued or running. Once the catalog is loaded, the catalog loaded listeners are notified with the key.
+     * If the fetch fails, the installed features are generated instead, as a failed blocking fetch would, on
+     * their own executor, which notifies the listeners once they are generated.
+     */
+    private void fetchFeaturesInBackground(String featureCacheKey, Callable<FeaturesAndPlatforms> fetch, int requestDelay,
+                                           String documentURI, String libertyRuntime, String libertyVersion) {
+        if (!backgroundFetches.add(featureCacheKey)) {
+            return;
+        }
+        LOGGER.info("Fetching features and platforms in the background for: " + featureCacheKey);
+        BACKGROUND_FETCH_EXECUTOR.execute(() -> {
+            boolean loaded = false;
+            try {
+                loadOnce(featureCacheKey, inFlightLoads, fetch);
+                backgroundFetchBackoff.recordSuccess(featureCacheKey);
+                loaded = true;
+                LOGGER.info("Background fetch of features and platforms completed for: " + featureCacheKey);
+            } catch (Exception e) {
+                long retryDelay = backgroundFetchBackoff.recordFailure(featureCacheKey, requestDelay * 1000L);
+                LOGGER.warning("Received exception when trying to download features from Maven Central in the background, retrying in %d seconds: %s"
+                        .formatted(retryDelay / 1000, e.getMessage()));
+            } finally {
+                backgroundFetches.remove(featureCacheKey);
+                if (loaded) {
+                    notifyCatalogLoaded(featureCacheKey);
+                } else {
+                    generateInstalledFeaturesInBackground(featureCacheKey, documentURI, libertyRuntime, libertyVersion);
+                }
+            }
+        });
+    }
+
+    /**
+     * Generates the installed features of the document's workspace on the installed features executor unless a
+     * generation for the same key is already queued or running, and notifies the listeners with the key afterwards,
+     * also if the generation failed.
+     */
+    private void generateInstalledFeaturesInBackground(String featureCacheKey, String documentURI, String libertyRuntime, String libertyVersion) {
+        if (!installedFeatureGenerations.add(featureCacheKey)) {
+            return;
+        }
+        INSTALLED_FEATURES_EXECUTOR.execute(() -> {
+            try {
+                getInstalledFeaturesList(documentURI, libertyRuntime, libertyVersion);
+            } finally {
+                installedFeatureGenerations.remove(featureCacheKey);
+                notifyCatalogLoaded(featureCacheKey);
+            }
+        });
+    }
+
+    private void notifyCatalogLoaded(String featureCacheKey) {
+        for (Consumer<String> listener : catalogLoadedListeners) {
+            try {
+                listener.accept(featureCacheKey);
+            } catch (RuntimeException e) {
+                LOGGER.warning("Catalog loaded listener failed for " + featureCacheKey + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Returns the catalog to use while a background fetch is in progress: the installed features of the workspace
+     * if they were already generated, otherwise the default features. Never generates the installed feature list.
+     */
+    private FeaturesAndPlatforms getAvailableFeaturesAndPlatforms(LibertyWorkspace workspaceFolder) {
+        if (workspaceFolder != null) {
+            FeaturesAndPlatforms installedFeatures = workspaceFolder.getInstalledFeaturesAndPlatformsList();
+            if (installedFeatures != null && installedFeatures.getPublicFeatures().size() != 0) {
+                return installedFeatures;
+            }
+        }
+        getDefaultFeaturesAndPlatforms();
+        getDefaultFeatureList();
+        return defaultFeaturesAndPlatforms;
+    }
+
+    /**
+     * Registers a listener that is called with the runtime-version key of a feature catalog whenever
+     * a background fetch has loaded it, or has failed and the installed features are used instead.
+     * Listeners are called on a background thread and must not block it.
+     */
+    public void addCatalogLoadedListener(Consumer<String> listener) {
+        catalogLoadedListeners.add(listener);
+    }
+
+    public void removeCatalogLoadedListener(Consumer<String> listener) {
+        catalogLoadedListeners.remove(listener);
+    }
+
     public Optional<Feature> getFeature(String featureName, String libertyVersion, String libertyRuntime, int requestDelay, String documentURI) {
         FeaturesAndPlatforms fp = getFeaturesAndPlatforms(libertyVersion, libertyRuntime, requestDelay, documentURI);
-        List<Feature> features = fp.getPublicFeatures();
-        return features.stream().filter(f -> f.getWlpInformation().getShortName().equalsIgnoreCase(featureName))
-            .findFirst();
+        return Optional.ofNullable(fp.getFeatureByShortName(featureName));
     }
 
     public List<String> getFeatureShortNames(List<Feature> features) {
@@ -316,43 +669,16 @@ public class FeatureService {
     }
 
     public boolean featureExists(String featureName, String libertyVersion, String libertyRuntime, int requestDelay, String documentURI) {
-        return this.getFeature(featureName, libertyVersion, libertyRuntime, requestDelay, documentURI).isPresent();
+        return getFeaturesAndPlatforms(libertyVersion, libertyRuntime, requestDelay, documentURI).hasFeature(featureName);
     }
 
     public List<Feature> getFeatureReplacements(String featureName, DOMNode featureManagerNode, String libertyVersion, String libertyRuntime, int requestDelay, String documentURI) {
         FeaturesAndPlatforms fp = getFeaturesAndPlatforms(libertyVersion, libertyRuntime, requestDelay, documentURI);
-        List<Feature> features = fp.getPublicFeatures();
-        List<String> featureNamesLowerCase = getFeatureShortNames(features, true);
 
-        // get list of existing features to exclude from list of possible replacements
+        // get list of existing features to exclude from list of possible replacements,
+        // the search index also excludes any feature with a different version that matches an existing feature
         List<String> existingFeatures = collectExistingFeatures(featureManagerNode, featureName);
-
-        // also exclude any feature with a different version that matches an existing feature
-        Set<String> featuresWithoutVersionsToExclude = new HashSet<String>();
-        for (String nextFeatureName : featureNamesLowerCase) {
-            if (existingFeatures.contains(nextFeatureName)) {
-                // collect feature name minus version number to know which other features to exclude
-                String featureNameMinusVersion = nextFeatureName.contains("-") ?
-                        nextFeatureName.substring(0, nextFeatureName.lastIndexOf("-") + 1) : nextFeatureName + "-";
-                featuresWithoutVersionsToExclude.add(featureNameMinusVersion);
-            }
-        }
-
-        List<Feature> replacementFeatures = new ArrayList<Feature>();
-        String featureNameLowerCase = featureName.toLowerCase();
-
-        for (int i = 0; i < featureNamesLowerCase.size(); i++) {
-            String nextFeatureName = featureNamesLowerCase.get(i);
-            if (nextFeatureName.contains(featureNameLowerCase)) {
-                String comparingFeatureName = nextFeatureName.contains("-") ?
-                        nextFeatureName.substring(0, nextFeatureName.lastIndexOf("-") + 1) : nextFeatureName + "-";
-                if (!featuresWithoutVersionsToExclude.contains(comparingFeatureName)) {
-                    replacementFeatures.add(features.get(i));
-                }
-            }
-        }
-
-        return replacementFeatures;
+        return fp.getSearchIndex().search(featureName, existingFeatures);
     }
 
     /*
@@ -385,7 +711,8 @@ public class FeatureService {
 
     /**
      * Returns the list of installed features generated from ws-featurelist.jar.
-     * Generated feature list is stored in the (target/build)/.libertyls directory.
+     * Generated feature list is stored in the (target/build)/.libertyls directory, and for a local installation
+     * also in the user level installation cache (see InstallationCacheUtil) so later sessions do not generate it again.
      * Returns an empty list if cannot determine installed feature list.
      * 
      * @param documentURI xml document
@@ -406,14 +733,41 @@ public class FeatureService {
             return cachedFeaturesAndPlatforms;
         }
 
+        // only one thread generates and parses the feature list for a workspace, the others wait for its result
+        synchronized (libertyWorkspace) {
+            cachedFeaturesAndPlatforms = libertyWorkspace.getInstalledFeaturesAndPlatformsList();
+            if (cachedFeaturesAndPlatforms.getPublicFeatures().size() != 0) {
+                return cachedFeaturesAndPlatforms;
+            }
+            return generateInstalledFeaturesAndPlatformsList(libertyWorkspace);
+        }
+    }
+
+    private FeaturesAndPlatforms generateInstalledFeaturesAndPlatformsList(LibertyWorkspace libertyWorkspace) {
+        FeaturesAndPlatforms installedFeaturesAndPlatforms = new FeaturesAndPlatforms();
+
         try {
             // Need to handle both local installation and container
             File featureListFile = null;
+            String fingerprint = null;
             if (libertyWorkspace.isLibertyInstalled()) {
                 Path featureListJAR = LibertyUtils.findLibertyFileForWorkspace(libertyWorkspace, Paths.get("bin", "tools", "ws-featurelist.jar"));
                 if (featureListJAR != null && featureListJAR.toFile().exists()) {
-                    //Generate featurelist file
-                    featureListFile = generateFeatureListXml(libertyWorkspace, featureListJAR);
+                    // reuse the feature list generated for the same installation in an earlier session
+                    fingerprint = getInstallationFingerprint(libertyWorkspace, featureListJAR);
+                    featureListFile = restoreCachedFeatureListXml(libertyWorkspace, fingerprint);
+                    if (featureListFile != null) {
+                        FeaturesAndPlatforms cachedFeaturesAndPlatforms = readCachedFeatures(libertyWorkspace, fingerprint);
+                        if (cachedFeaturesAndPlatforms != null) {
+                            return cachedFeaturesAndPlatforms;
+                        }
+                    } else {
+                        //Generate featurelist file
+                        featureListFile = generateFeatureListXml(libertyWorkspace, featureListJAR);
+                        if (featureListFile != null && fingerprint != null) {
+                            InstallationCacheUtil.store(fingerprint, InstallationCacheUtil.FEATURELIST_FILE, featureListFile);
+                        }
+                    }
                 }
             } else if (libertyWorkspace.isContainerAlive()) {
                 ContainerService container = ContainerService.getInstance();
@@ -423,6 +777,10 @@ public class FeatureService {
             if (featureListFile != null && featureListFile.exists()) {
                 try {
                     installedFeaturesAndPlatforms = readFeaturesFromFeatureListFile(libertyWorkspace, featureListFile);
+                    if (fingerprint != null && installedFeaturesAndPlatforms.getPublicFeatures().size() > 0) {
+                        InstallationCacheUtil.writeFeatures(fingerprint, libertyWorkspace.getLibertyRuntime(), libertyWorkspace.getLibertyVersion(),
+                                installedFeaturesAndPlatforms, libertyWorkspace.getFeatureSnapshot().getFeatureListGraph());
+                    }
                 } catch (JAXBException e) {
                     LOGGER.severe("Error: Unable to load the generated feature list file for the target Liberty runtime due to exception: "+e.getMessage());
                 }
@@ -443,6 +801,14 @@ public class FeatureService {
     }
 
     public FeatureListGraph getDefaultFeatureList() {
+        FeatureListGraph featureList = defaultFeatureList;
+        if (featureList != null) {
+            return featureList;
+        }
+        return loadDefaultFeatureList();
+    }
+
+    private synchronized FeatureListGraph loadDefaultFeatureList() {
         if (defaultFeatureList != null) {
             return defaultFeatureList;
         }
@@ -483,7 +849,9 @@ public class FeatureService {
             }
             try {
                 LOGGER.info("Using Locale %s to find feature list xml in %s".formatted(SettingsService.getInstance().getCurrentLocale(), FEATURELIST_XML_RESOURCE));
-                featurelistXmlFile = CacheResourcesManager.getResourceCachePath(FEATURELIST_XML_RESOURCE);
+                // localized feature lists are stored compressed, only the one for the current locale is extracted
+                featurelistXmlFile = CompressedResourceUtil.getResourceCachePath(FEATURELIST_XML_RESOURCE,
+                        FEATURELIST_XML_CLASSPATH_LOCATION.formatted(SettingsService.getInstance().getCurrentLocale().toString()));
             } catch (Exception e) {
                 LOGGER.warning("Unable to find localized feature list cache using current locale %s. Using default feature list cache xml in %s".formatted(SettingsService.getInstance().getCurrentLocale(), FEATURELIST_XML_RESOURCE_DEFAULT));
                 featurelistXmlFile = CacheResourcesManager.getResourceCachePath(FEATURELIST_XML_RESOURCE_DEFAULT);
@@ -492,6 +860,58 @@ public class FeatureService {
         return featurelistXmlFile;
     }
 
+    /**
+     * Returns the fingerprint of the Liberty installation of the workspace for the installation cache, or null
+     * if the runtime and version are not known.
+     */
+    private String getInstallationFingerprint(LibertyWorkspace libertyWorkspace, Path featureListJAR) {
+        if (!libertyWorkspace.isLibertyRuntimeAndVersionSet()) {
+            return null;
+        }
+        return InstallationCacheUtil.getFingerprint(libertyWorkspace.getLibertyRuntime(), libertyWorkspace.getLibertyVersion(),
+                SettingsService.getInstance().getCurrentLocale().toString(), featureListJAR);
+    }
+
+    /**
+     * Copies the feature list cached for the installation fingerprint to the generated feature list location of
+     * the workspace, where doesGeneratedFeatureListExist checks for it and hovers link to it.
+     *
+     * @return the restored feature list, or null if none is cached
+     */
+    private File restoreCachedFeatureListXml(LibertyWorkspace libertyWorkspace, String fingerprint) {
+        File cachedFeatureListFile = fingerprint == null ? null : InstallationCacheUtil.getCachedFile(fingerprint, InstallationCacheUtil.FEATURELIST_FILE);
+        File tempDir = LibertyUtils.getTempDir(libertyWorkspace);
+        if (cachedFeatureListFile == null || tempDir == null) {
+            return null;
+        }
+        File featureListFile = getGeneratedFeatureListFileLocation(libertyWorkspace, tempDir);
+        if (!InstallationCacheUtil.restore(cachedFeatureListFile, featureListFile)) {
+            return null;
+        }
+        LOGGER.info("Using feature list cached for the Liberty installation: " + cachedFeatureListFile);
+        return featureListFile;
+    }
+
+    /**
+     * Publishes the features and graph cached for the installation fingerprint to the workspace without parsing
+     * the feature list.
+     *
+     * @return the installed features, or null if they are not cached
+     */
+    private FeaturesAndPlatforms readCachedFeatures(LibertyWorkspace libertyWorkspace, String fingerprint) {
+        FeaturesAndPlatforms installedFeatures = InstallationCacheUtil.readFeatures(fingerprint, libertyWorkspace.getLibertyRuntime(), libertyWorkspace.getLibertyVersion());
+        if (installedFeatures == null || installedFeatures.getPublicFeatures().isEmpty()) {
+            return null;
+        }
+        FeatureListGraph featureListGraph = InstallationCacheUtil.readGraph(fingerprint);
+        if (featureListGraph == null || featureListGraph.isEmpty()) {
+            return null;
+        }
+        libertyWorkspace.publishFeatures(installedFeatures, featureListGraph);
+        LOGGER.info("Returning installed features cached for the Liberty installation: " + installedFeatures.getPublicFeatures().size());
+        return installedFeatures;
+    }
+
     public boolean doesGeneratedFeatureListExist(LibertyWorkspace libertyWorkspace) {
         File tempDir = LibertyUtils.getTempDir(libertyWorkspace);
 
@@ -563,69 +983,51 @@ public class FeatureService {
 
     // If the graphOnly boolean is true, the libertyWorkspace parameter may be null. Also, the defaultFeatureList should be initialized
     // after calling this method with graphOnly set to true.
+    // The featurelist xml is streamed with StAX and the FeatureListGraph is built as each feature element is read, so no
+    // JAXBContext is created and the whole file is never held as objects. JAXBException is still declared, wrapping any
+    // read error, so existing callers keep working.
     public FeaturesAndPlatforms readFeaturesFromFeatureListFile(LibertyWorkspace libertyWorkspace,
         File featureListFile, boolean graphOnly) throws JAXBException {
         FeaturesAndPlatforms installedFeatures = new FeaturesAndPlatforms();
-        JAXBContext jaxbContext = JAXBContext.newInstance(FeatureInfo.class);
-        Unmarshaller jaxbUnmarshaller = jaxbContext.createUnmarshaller();
-        FeatureInfo featureInfo = (FeatureInfo) jaxbUnmarshaller.unmarshal(featureListFile);
         FeatureListGraph featureListGraph = new FeatureListGraph();
-        
-        // Note: The public features are loaded in the getFeatures() collection when unmarshalling the passed featureListFile.
-        if ((featureInfo.getFeatures() != null) && (featureInfo.getFeatures().size() > 0)) {
-            for (Feature f : featureInfo.getFeatures()) {
-                f.setShortDescription(f.getDescription());
-                // The xml featureListFile does not have a wlpInformation element like the json does, but our code depends on looking up 
-                // features by the shortName found in wlpInformation. So create a WlpInformation object and initialize the shortName to 
-                // the feature name.
-                WlpInformation wlpInfo = new WlpInformation(f.getName());
-                f.setWlpInformation(wlpInfo);
-
-                String currentFeature = f.getName();            
-                List<String> enables = f.getEnables();
-                List<String> configElements = f.getConfigElements();
-                FeatureListNode currentFeatureNode = featureListGraph.addFeature(currentFeature, f.getDescription());
-
-                // check symbolicName to see if this is a versionless feature
-                if (f.getSymbolicName().contains(".versionless.")) {
-                    currentFeatureNode.setIsVersionless(true);
-                }
-
-                if (enables != null) {
-                    for (String enabledFeature : enables) {
-                        FeatureListNode feature = featureListGraph.addFeature(enabledFeature);
-                        feature.addEnabledBy(currentFeature);
-                        currentFeatureNode.addEnablesFeature(enabledFeature);
-                    }
-                }
-                if (configElements != null) {
-                    for (String configElement : configElements) {
-                        ConfigElementNode configNode = featureListGraph.addConfigElement(configElement);
-                        configNode.addEnabledBy(currentFeature);
-                        currentFeatureNode.addEnablesConfigElement(configElement);
-                    }
+        List<Feature> publicFeatures = new ArrayList<>();
+        List<Feature> privateFeatures = new ArrayList<>();
+
+        XMLStreamReader reader = null;
+        try (InputStream is = new BufferedInputStream(new FileInputStream(featureListFile))) {
+            reader = FEATURELIST_XML_INPUT_FACTORY.createXMLStreamReader(is);
+            // move to the featureInfo root element
+            reader.nextTag();
+            while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                String elementName = reader.getLocalName();
+                if (LibertyConstants.FEATURE_ELEMENT.equals(elementName)) {
+                    // Note: The public features are added to the graph as they are read.
+                    Feature f = readFeatureListFeature(reader);
+                    addFeatureToGraph(featureListGraph, f);
+                    publicFeatures.add(f);
+                } else if ("privateFeature".equals(elementName)) {
+                    privateFeatures.add(readFeatureListPrivateFeature(reader));
+                } else {
+                    skipElement(reader);
                 }
             }
-
-            // Note: The private features are loaded in the getPrivateFeatures() collection when unmarshalling the passed featureListFile.
-            List<Feature> privateFeatures = new ArrayList<>();
-            if ((featureInfo.getPrivateFeatures() != null) && (featureInfo.getPrivateFeatures().size() > 0)) {
-                for (PrivateFeature pf : featureInfo.getPrivateFeatures()) {
-                    Feature f = new Feature();
-                    f.setName(pf.getSymbolicName());
-                    WlpInformation wlpInfo = new WlpInformation(f.getName());
-                    f.setWlpInformation(wlpInfo);
-                    wlpInfo.setVisibility(LibertyConstants.PRIVATE_VISIBILITY);
-                    wlpInfo.setPlatforms(pf.getPlatforms());
-
-                    privateFeatures.add(f);
+        } catch (XMLStreamException | IOException e) {
+            throw new JAXBException("Unable to read feature list file " + featureListFile + ": " + e.getMessage(), e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException ignored) {
                 }
             }
+        }
+        // compact the graph before it is published so queries never build it
+        featureListGraph.freeze();
 
+        if (publicFeatures.size() > 0) {
             if (!graphOnly) {
-                installedFeatures = new FeaturesAndPlatforms(featureInfo.getFeatures(), privateFeatures);
-                libertyWorkspace.setInstalledFeaturesAndPlatformsList(installedFeatures);
-                libertyWorkspace.setFeatureListGraph(featureListGraph);
+                installedFeatures = new FeaturesAndPlatforms(publicFeatures, privateFeatures);
+                libertyWorkspace.publishFeatures(installedFeatures, featureListGraph);
             } else {
                 defaultFeatureList = featureListGraph;
             }
@@ -640,6 +1042,113 @@ public class FeatureService {
         return installedFeatures;
     }
 
+    /**
+     * Reads a feature element of the featurelist xml. Only the name, description, symbolicName, enables and
+     * configElement values are kept, all other child elements are skipped.
+     */
+    private Feature readFeatureListFeature(XMLStreamReader reader) throws XMLStreamException {
+        Feature f = new Feature();
+        f.setName(reader.getAttributeValue(null, "name"));
+        List<String> enables = null;
+        List<String> configElements = null;
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (reader.getLocalName()) {
+                case "description" -> f.setDescription(reader.getElementText());
+                case "symbolicName" -> f.setSymbolicName(reader.getElementText());
+                case "enables" -> {
+                    if (enables == null) {
+                        enables = new ArrayList<>();
+                    }
+                    enables.add(reader.getElementText());
+                }
+                case "configElement" -> {
+                    if (configElements == null) {
+                        configElements = new ArrayList<>();
+                    }
+                    configElements.add(reader.getElementText());
+                }
+                default -> skipElement(reader);
+            }
+        }
+        f.setEnables(enables);
+        f.setConfigElements(configElements);
+
+        f.setShortDescription(f.getDescription());
+        // The xml featureListFile does not have a wlpInformation element like the json does, but our code depends on looking up 
+        // features by the shortName found in wlpInformation. So create a WlpInformation object and initialize the shortName to 
+        // the feature name.
+        f.setWlpInformation(new WlpInformation(f.getName()));
+        return f;
+    }
+
+    /**
+     * Reads a privateFeature element of the featurelist xml into a Feature with private visibility, keeping only
+     * the symbolicName and platforms.
+     */
+    private Feature readFeatureListPrivateFeature(XMLStreamReader reader) throws XMLStreamException {
+        String symbolicName = null;
+        List<String> platforms = null;
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (reader.getLocalName()) {
+                case "symbolicName" -> symbolicName = reader.getElementText();
+                case "platform" -> {
+                    if (platforms == null) {
+                        platforms = new ArrayList<>();
+                    }
+                    platforms.add(reader.getElementText());
+                }
+                default -> skipElement(reader);
+            }
+        }
+        Feature f = new Feature();
+        f.setName(symbolicName);
+        WlpInformation wlpInfo = new WlpInformation(f.getName());
+        f.setWlpInformation(wlpInfo);
+        wlpInfo.setVisibility(LibertyConstants.PRIVATE_VISIBILITY);
+        wlpInfo.setPlatforms(platforms);
+        return f;
+    }
+
+    private void addFeatureToGraph(FeatureListGraph featureListGraph, Feature f) {
+        String currentFeature = f.getName();            
+        List<String> enables = f.getEnables();
+        List<String> configElements = f.getConfigElements();
+        FeatureListNode currentFeatureNode = featureListGraph.addFeature(currentFeature, f.getDescription());
+
+        // check symbolicName to see if this is a versionless feature
+        if (f.getSymbolicName() != null && f.getSymbolicName().contains(".versionless.")) {
+            currentFeatureNode.setIsVersionless(true);
+        }
+
+        if (enables != null) {
+            for (String enabledFeature : enables) {
+                FeatureListNode feature = featureListGraph.addFeature(enabledFeature);
+                feature.addEnabledBy(currentFeature);
+                currentFeatureNode.addEnablesFeature(enabledFeature);
+            }
+        }
+        if (configElements != null) {
+            for (String configElement : configElements) {
+                ConfigElementNode configNode = featureListGraph.addConfigElement(configElement);
+                configNode.addEnabledBy(currentFeature);
+                currentFeatureNode.addEnablesConfigElement(configElement);
+            }
+        }
+    }
+
+    // Skips the current element including all of its children. The reader must be positioned on the start element.
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
     /**
      * get all platforms for all features from feature json
      * @param libertyVersion liberty version
@@ -662,9 +1171,7 @@ public class FeatureService {
      * @return true or false
      */
     public boolean platformExists(String platformName, String libertyVersion, String libertyRuntime, int requestDelay, String documentURI) {
-        Set<String> platforms = this.getAllPlatforms(libertyVersion, libertyRuntime, requestDelay, documentURI);
-        return platforms.stream()
-                .anyMatch(platform -> platform.equalsIgnoreCase(platformName));
+        return getFeaturesAndPlatforms(libertyVersion, libertyRuntime, requestDelay, documentURI).hasPlatform(platformName);
     }
 
 
@@ -679,16 +1186,9 @@ public class FeatureService {
      */
     public Set<String> getAllPlatformsForFeature(String featureName, String libertyVersion, String libertyRuntime,
                                                      int requestDelay, String documentURI) {
-        Optional<Feature> feature=this.getFeature(featureName,libertyVersion, libertyRuntime, requestDelay, documentURI);
-        if (feature.isPresent() && feature.get().getWlpInformation().getPlatforms() != null) {
-            // only include available platforms - a feature can list a platform that is in beta
-            Set<String> availablePlatforms = getAllPlatforms(libertyVersion, libertyRuntime, requestDelay, documentURI);
-            Set<String> returnSet = new HashSet<>(feature.get().getWlpInformation().getPlatforms());
-            returnSet.retainAll(availablePlatforms);
-
-            return returnSet;
-        }
-       return Collections.emptySet();
+        // only includes available platforms - a feature can list a platform that is in beta
+        PlatformIndex platformIndex = getFeaturesAndPlatforms(libertyVersion, libertyRuntime, requestDelay, documentURI).getPlatformIndex();
+        return platformIndex.toPlatformNames(platformIndex.getPlatforms(featureName));
     }
 
     /**
@@ -698,20 +1198,13 @@ public class FeatureService {
      * @param libertyRuntime liberty runtime
      * @param requestDelay request delay
      * @param documentURI document uri
-     * @return platform list
+     * @return platform list, or null if featureNames is empty
      */
     public Set<String> getCommonPlatformsForFeatures(Set<String> featureNames, String libertyVersion, String libertyRuntime,
                                                       int requestDelay, String documentURI) {
-        Set<String> commonPlatforms = null;
-        for (String featureName : featureNames) {
-            Set<String> platforms = this.getAllPlatformsForFeature(featureName, libertyVersion, libertyRuntime, requestDelay, documentURI);
-            if (commonPlatforms == null) {
-                commonPlatforms = platforms;
-            } else {
-                commonPlatforms.retainAll(platforms);
-            }
-        }
-        return commonPlatforms;
+        PlatformIndex platformIndex = getFeaturesAndPlatforms(libertyVersion, libertyRuntime, requestDelay, documentURI).getPlatformIndex();
+        BitSet commonPlatforms = platformIndex.getCommonPlatforms(featureNames);
+        return commonPlatforms == null ? null : platformIndex.toPlatformNames(commonPlatforms);
     }
 
     /**
@@ -726,63 +1219,9 @@ public class FeatureService {
      * @return platform list
      */
     public Set<String> getAllPlatformsForVersionLessFeature(String featureName, String libertyVersion, String libertyRuntime, int requestDelay, String documentURI) {
-        Optional<Feature> feature = this.getFeature(featureName, libertyVersion, libertyRuntime, requestDelay, documentURI);
-        Set<String> featureNames = new HashSet<>();
-        if (feature.isPresent()) {
-            this.addRequiredFeatureNames(feature.get(), featureNames);
-            this.addRequireTolerateFeatureNames(feature.get(), featureNames);
-        }
-        return featureNames.stream()
-                .map(f -> getAllPlatformsForFeature(f, libertyVersion, libertyRuntime, requestDelay, documentURI))
-                .flatMap(Set::stream).map(String::toLowerCase).collect(Collectors.toSet());
+        return getFeaturesAndPlatforms(libertyVersion, libertyRuntime, requestDelay, documentURI).getPlatformsForVersionless(featureName);
     }
 
-    /**
-     * find require to tolerate feature names. find all versions
-     * @param feature current feature
-     * @param featureNames feature name list
-     */
-    private void addRequireTolerateFeatureNames(Feature feature, Set<String> featureNames) {
-        List<FeatureTolerate> featureTolerates = feature.getWlpInformation().getRequireFeatureWithTolerates();
-
-        for(FeatureTolerate featureTolerate: featureTolerates) {
-            String extractedFeatureName = featureTolerate.getFeature().contains(IO_OPENLIBERTY_INTERNAL_VERSIONLESS) ?
-                    featureTolerate.getFeature().substring(
-                            featureTolerate.getFeature()
-                                    .lastIndexOf(IO_OPENLIBERTY_INTERNAL_VERSIONLESS) + IO_OPENLIBERTY_INTERNAL_VERSIONLESS.length())
-                    : featureTolerate.getFeature();
-            String extractedFeatureNameWithoutVersion = extractedFeatureName.contains("-") ?
-                    extractedFeatureName.substring(0,extractedFeatureName.lastIndexOf("-") + 1) :
-                    extractedFeatureName;
-            featureNames.add(extractedFeatureName);
-            if(featureTolerate.getTolerates()!=null && !featureTolerate.getTolerates().isEmpty()){
-                for (String tolerateVersion:featureTolerate.getTolerates()){
-                    featureNames.add(extractedFeatureNameWithoutVersion + tolerateVersion);
-                    // if feature names are changed recently. like ejb-3.2 to enterprisebeans-4.0
-                    if (LibertyConstants.changedFeatureNameMap.containsKey(extractedFeatureNameWithoutVersion)) {
-                        featureNames.add(LibertyConstants.changedFeatureNameMap.get(extractedFeatureNameWithoutVersion) + tolerateVersion);
-                    }
-                }
-            }
-        }
-    }
-
-    /**
-     * add all required feature names
-     * @param feature current feature
-     * @param requiredFeatureNames required feature name array
-     */
-    private void addRequiredFeatureNames(Feature feature, Set<String> requiredFeatureNames) {
-        ArrayList<String> requireFeatures = feature.getWlpInformation().getRequireFeature();
-
-        for(String requireFeature: requireFeatures) {
-            String extractedFeatureName = requireFeature.contains(IO_OPENLIBERTY_INTERNAL_VERSIONLESS) ?
-                    requireFeature.substring(requireFeature.lastIndexOf(IO_OPENLIBERTY_INTERNAL_VERSIONLESS)
-                            + IO_OPENLIBERTY_INTERNAL_VERSIONLESS.length())
-                    : requireFeature;
-            requiredFeatureNames.add(extractedFeatureName);
-        }
-    }
     /**
      * Returns the platform names specified in the featureManager element in lower case,
      * excluding the currentPlatformName if specified.
@@ -834,14 +1273,10 @@ public class FeatureService {
      */
     public Set<String> getVersionLessFeaturesForVersioned(List<String> versionedFeatureNames, String libertyRuntime, String libertyVersion,int requestDelay, String documentURI) {
         FeaturesAndPlatforms featuresAndPlatforms = getFeaturesAndPlatforms( libertyVersion,libertyRuntime, requestDelay, documentURI);
-        Set<String> featureNames = featuresAndPlatforms.getPublicFeatures().stream()
-                .filter(feature -> feature.getWlpInformation() != null)
-                .map(feature -> feature.getWlpInformation().getShortName().toLowerCase())
-                .collect(Collectors.toSet());
 
         return versionedFeatureNames.stream()
                 .map(LibertyUtils::stripVersion)
-                .filter(feature -> featureNames.contains(feature.toLowerCase()))
+                .filter(featuresAndPlatforms::hasFeature)
                 .collect(Collectors.toSet());
     }
 
@@ -850,8 +1285,9 @@ public class FeatureService {
      * Used for tests
      */
     public void evictCache() {
-        featureAndPlatformCache = new HashMap<>();
-        featureUpdateTime = -1;
+        featureAndPlatformCache = new FeatureCatalogCache();
+        fetchBackoff.clear();
+        backgroundFetchBackoff.clear();
         defaultFeatureList = null;
         defaultFeaturesAndPlatforms = null;
     }
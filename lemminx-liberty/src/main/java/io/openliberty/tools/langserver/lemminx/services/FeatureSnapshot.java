@@ -0,0 +1,93 @@
+/*******************************************************************************
+* Copyright (c) 2025 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package io.openliberty.tools.langserver.lemminx.services;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.openliberty.tools.langserver.lemminx.data.FeatureListGraph;
+import io.openliberty.tools.langserver.lemminx.models.feature.FeaturesAndPlatforms;
+
+/**
+ * Immutable view of the feature data of a workspace: the installed features and the feature list graph
+ * generated from the same feature list, and the runtime they were generated for.
+ *
+ * A workspace publishes a new snapshot whenever its feature data changes, so readers take the current
+ * snapshot once and see a consistent pair without locking. The graph is sealed before it is published,
+ * so reading it never modifies it and any attempt to change it fails. Every snapshot gets a new version
+ * number, which readers can use to tell whether the feature data changed since they last looked.
+ */
+public final class FeatureSnapshot {
+
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    private final long version;
+    private final FeaturesAndPlatforms installedFeatures;
+    private final FeatureListGraph featureListGraph;
+    private final String runtime;
+
+    private FeatureSnapshot(FeaturesAndPlatforms installedFeatures, FeatureListGraph featureListGraph, String runtime) {
+        featureListGraph.seal();
+        this.version = VERSIONS.incrementAndGet();
+        this.installedFeatures = installedFeatures;
+        this.featureListGraph = featureListGraph;
+        this.runtime = runtime;
+    }
+
+    /**
+     * Returns a snapshot without installed features and with an empty feature list graph.
+     */
+    public static FeatureSnapshot empty() {
+        return new FeatureSnapshot(new FeaturesAndPlatforms(), new FeatureListGraph(), "");
+    }
+
+    /**
+     * Returns a copy of this snapshot with the installed features replaced.
+     */
+    public FeatureSnapshot withInstalledFeatures(FeaturesAndPlatforms installedFeatures) {
+        return new FeatureSnapshot(installedFeatures, featureListGraph, runtime);
+    }
+
+    /**
+     * Returns a copy of this snapshot with the feature list graph replaced.
+     *
+     * @param runtime runtime-version the graph was generated for, empty for the default feature list
+     */
+    public FeatureSnapshot withFeatureListGraph(FeatureListGraph featureListGraph, String runtime) {
+        return new FeatureSnapshot(installedFeatures, featureListGraph, runtime);
+    }
+
+    /**
+     * Returns a snapshot with both the installed features and the feature list graph replaced.
+     *
+     * @param runtime runtime-version the graph was generated for, empty for the default feature list
+     */
+    public static FeatureSnapshot of(FeaturesAndPlatforms installedFeatures, FeatureListGraph featureListGraph, String runtime) {
+        return new FeatureSnapshot(installedFeatures, featureListGraph, runtime);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public FeaturesAndPlatforms getInstalledFeatures() {
+        return installedFeatures;
+    }
+
+    public FeatureListGraph getFeatureListGraph() {
+        return featureListGraph;
+    }
+
+    public String getRuntime() {
+        return runtime;
+    }
+}
@@ -0,0 +1,84 @@
+/*******************************************************************************
+* Copyright (c) 2025 IBM Corporation and others.
+*
+* This program and the accompanying materials are made available under the
+* terms of the Eclipse Public License v. 2.0 which is available at
+* http://www.eclipse.org/legal/epl-2.0.
+*
+* SPDX-License-Identifier: EPL-2.0
+*
+* Contributors:
+*     IBM Corporation - initial API and implementation
+*******************************************************************************/
+package io.openliberty.tools.langserver.lemminx.services;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Remembers failed downloads per URL so that a URL that just failed is not requested again on every
+ * document change. After each consecutive failure the URL is skipped for twice as long as before,
+ * starting from the base delay passed with the failure and capped at MAX_DELAY_MILLIS. A successful
+ * download forgets the URL. URLs that have not failed are never delayed, whatever other URLs did.
+ */
+public class FetchBackoff {
+
+    private static final Logger LOGGER = Logger.getLogger(FetchBackoff.class.getName());
+    static final long MAX_DELAY_MILLIS = 60 * 60 * 1000L;
+
+    private final Map<String, Failure> failures = new ConcurrentHashMap<>();
+
+    private static final class Failure {
+        final int count;
+        final long retryAfter;
+
+        Failure(int count, long retryAfter) {
+            this.count = count;
+            this.retryAfter = retryAfter;
+        }
+    }
+
+    /**
+     * Returns true if the passed URL failed recently and should not be requested yet.
+     */
+    public boolean isBackingOff(String url) {
+        Failure failure = failures.get(url);
+        return failure != null && System.currentTimeMillis() < failure.retryAfter;
+    }
+
+    /**
+     * Records a failed download of the passed URL.
+     *
+     * @param baseDelayMillis time to skip the URL after its first failure
+     * @return the time in milliseconds until the URL is requested again
+     */
+    public long recordFailure(String url, long baseDelayMillis) {
+        long now = System.currentTimeMillis();
+        Failure failure = failures.compute(url, (key, previous) -> {
+            int count = previous == null ? 1 : previous.count + 1;
+            return new Failure(count, now + getDelay(baseDelayMillis, count));
+        });
+        long delay = failure.retryAfter - now;
+        LOGGER.fine("Download of %s failed %d time(s), retrying in %d seconds".formatted(url, failure.count, delay / 1000));
+        return delay;
+    }
+
+    public void recordSuccess(String url) {
+        failures.remove(url);
+    }
+
+    public void clear() {
+        failures.clear();
+    }
+
+    /**
+     * Returns the delay after the passed number of consecutive failures: the base delay doubled for
+     * each failure after the first, capped at MAX_DELAY_MILLIS.
+     */
+    static long getDelay(long baseDelayMillis, int failureCount) {
+        long base = Math.max(baseDelayMillis, 1);
+        int shift = Math.min(failureCount - 1, 30);
+        return Math.min(base << shift, MAX_DELAY_MILLIS);
+    }
+}
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package io.openliberty.tools.langserver.lemminx.services;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Caches whether files exist, whether they are files or directories, and their modification time and
+ * size, so that validating the include locations of a config file again does not go to the file system.
+ * This matters on network mounted directories, where every stat is a round trip.
+ *
+ * A path is read with a single stat, and the result is kept until the FileWatchService reports a change
+ * to the path or to a directory containing it, or until it is older than TTL_MILLIS. The time to live
+ * covers paths outside the watched workspace folders, and matches the polling interval of the watch
+ * service, so a stale result is never older than a change the watch service could have reported.
+ */
+public class FileStatCache {
+
+    private static final Logger LOGGER = Logger.getLogger(FileStatCache.class.getName());
+
+    // default polling interval of the commons-io FileAlterationMonitor used by the FileWatchService
+    private static final long TTL_MILLIS = 10_000;
+
+    private static final FileStatCache instance = new FileStatCache();
+
+    public static FileStatCache getInstance() {
+        return instance;
+    }
+
+    private final Map<String, FileStat> stats = new ConcurrentHashMap<>();
+
+    private FileStatCache() {
+    }
+
+    public boolean exists(File file) {
+        return getStat(file).exists();
+    }
+
+    public boolean isFile(File file) {
+        return getStat(file).isFile();
+    }
+
+    public boolean isDirectory(File file) {
+        return getStat(file).isDirectory();
+    }
+
+    /**
+     * Returns the last modified time of the file in milliseconds, or 0 if it does not exist.
+     */
+    public long lastModified(File file) {
+        return getStat(file).lastModified();
+    }
+
+    /**
+     * Returns the size of the file in bytes, or 0 if it does not exist.
+     */
+    public long length(File file) {
+        return getStat(file).length();
+    }
+
+    private FileStat getStat(File file) {
+        String path = getKey(file);
+        long now = System.currentTimeMillis();
+        FileStat stat = stats.get(path);
+        if (stat == null || now - stat.time() > TTL_MILLIS) {
+            stat = readStat(file, now);
+            stats.put(path, stat);
+        }
+        return stat;
+    }
+
+    private static FileStat readStat(File file, long now) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+            return new FileStat(true, attributes.isRegularFile(), attributes.isDirectory(),
+                    attributes.lastModifiedTime().toMillis(), attributes.size(), now);
+        } catch (IOException | InvalidPathException e) {
+            // same as File.exists(), which returns false for paths it cannot access or parse
+            return new FileStat(false, false, false, 0, 0, now);
+        }
+    }
+
+    /**
+     * Drops the cached state of the passed file and, if it is a directory, of everything below it.
+     */
+    public void invalidate(File file) {
+        String path = getKey(file);
+        String childPrefix = path.endsWith(File.separator) ? path : path + File.separator;
+        if (stats.keySet().removeIf(cached -> cached.equals(path) || cached.startsWith(childPrefix))) {
+            LOGGER.fine("Invalidated cached file state of " + path);
+        }
+    }
+
+    // normalized, so that a path reached through .. segments, such as an include location, is matched by invalidate()
+    private static String getKey(File file) {
+        try {
+            return file.toPath().toAbsolutePath().normalize().toString();
+        } catch (InvalidPathException e) {
+            return file.getAbsolutePath();
+        }
+    }
+
+    public void clear() {
+        stats.clear();
+    }
+
+    private record FileStat(boolean exists, boolean isFile, boolean isDirectory, long lastModified, long length, long time) {
+    }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2024 IBM Corporation and others.
+ * Copyright (c) 2024, 2025 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0 which is available at
@@ -84,17 +84,17 @@ public class FileWatchService {
         observer.addListener(new FileAlterationListenerAdaptor() {
             @Override
             public void onDirectoryCreate(File file) {
-                // not required
+                FileStatCache.getInstance().invalidate(file);
             }
 
             @Override
             public void onDirectoryDelete(File file) {
-                // not required
+                FileStatCache.getInstance().invalidate(file);
             }
 
             @Override
             public void onDirectoryChange(File file) {
-                // not required
+                FileStatCache.getInstance().invalidate(file);
             }
 
             @Override
@@ -119,6 +119,7 @@ public class FileWatchService {
              * @param workspace current workspace
              */
             private void onAlteration(File file, LibertyWorkspace workspace) {
+                FileStatCache.getInstance().invalidate(file);
                 boolean watchedFileChanged = LibertyConstants.filesToWatch.stream().anyMatch(fileName -> file.getName().contains(fileName));
                 boolean isConfigXmlFile = false;
                 try {
@@ -140,6 +141,7 @@ public class FileWatchService {
      */
     public void cleanFileMonitors() {
         fileObservers.clear();
+        FileStatCache.getInstance().clear();
         try {
             for (FileAlterationMonitor monitor : monitors) {
                 monitor.stop();
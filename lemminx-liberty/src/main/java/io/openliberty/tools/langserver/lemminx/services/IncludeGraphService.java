@@ -0,0 +1,277 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package io.openliberty.tools.langserver.lemminx.services;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eclipse.lemminx.dom.DOMDocument;
+
+import io.openliberty.tools.langserver.lemminx.util.LibertyConstants;
+import io.openliberty.tools.langserver.lemminx.util.LibertyUtils;
+import io.openliberty.tools.langserver.lemminx.util.XmlReader;
+
+/**
+ * Workspace level graph of the config files included by Liberty config documents, used to find the
+ * features enabled by the files a document includes.
+ *
+ * Each included file is scanned once with a StAX cursor for the featureManager, include and variable
+ * elements of its server element. The result is cached by path together with the modification time and
+ * size of the file, read through the FileStatCache, and the file is only scanned again when either changes.
+ * The document being validated is never read from disk, its include locations are taken from its DOM.
+ *
+ * The files in configDropins/defaults and configDropins/overrides next to a server.xml are treated as
+ * included by it. Variables in include locations are resolved with the variables of the workspace and
+ * of the including file. Locations that are URLs or that have unresolved variables are skipped.
+ */
+public class IncludeGraphService {
+
+    private static final Logger LOGGER = Logger.getLogger(IncludeGraphService.class.getName());
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = XmlReader.getXmlInputFactory();
+    private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\$\\{([^}]+)\\}");
+    private static final List<String> CONFIG_DROPINS_DIRS = List.of(LibertyConstants.SERVER_CONFIG_DROPINS_DEFAULTS, LibertyConstants.SERVER_CONFIG_DROPINS_OVERRIDES);
+
+    private static final IncludeGraphService instance = new IncludeGraphService();
+
+    public static IncludeGraphService getInstance() {
+        return instance;
+    }
+
+    private final Map<String, ConfigFragment> fragments = new ConcurrentHashMap<>();
+
+    private IncludeGraphService() {
+    }
+
+    /**
+     * Returns the lower case names of the features enabled by the config files the document includes,
+     * directly or through other included files.
+     *
+     * @param includeLocations location attributes of the include elements of the document
+     */
+    public Set<String> getIncludedFeatures(DOMDocument document, List<String> includeLocations) {
+        File documentFile;
+        try {
+            documentFile = LibertyUtils.getDocumentAsFile(document);
+        } catch (IllegalArgumentException e) {
+            // not a file URI
+            return Collections.emptySet();
+        }
+        Properties variables = SettingsService.getInstance().getVariablesForServerXml(document.getDocumentURI());
+        Set<String> visited = new HashSet<>();
+        visited.add(documentFile.getAbsolutePath());
+        Set<String> features = new HashSet<>();
+
+        File documentDir = documentFile.getParentFile();
+        for (String location : includeLocations) {
+            addIncludedFeatures(documentDir, location, variables, Collections.emptyMap(), visited, features);
+        }
+        if (LibertyConstants.SERVER_XML.equals(documentFile.getName())) {
+            for (String configDropinsDir : CONFIG_DROPINS_DIRS) {
+                for (File configDropin : listXmlFiles(new File(documentDir, configDropinsDir))) {
+                    addFeatures(configDropin, variables, visited, features);
+                }
+            }
+        }
+        return features;
+    }
+
+    private void addIncludedFeatures(File dir, String location, Properties variables, Map<String, String> fileVariables,
+                                     Set<String> visited, Set<String> features) {
+        String resolvedLocation = resolveVariables(location, variables, fileVariables);
+        if (resolvedLocation == null || resolvedLocation.startsWith("http")) {
+            return;
+        }
+        File includedFile = LibertyUtils.resolveIncludeLocation(dir, resolvedLocation);
+        // Liberty uses this to determine if directory, and then includes all xml files in it
+        if (resolvedLocation.endsWith("/") || resolvedLocation.endsWith(File.separator)) {
+            for (File file : listXmlFiles(includedFile)) {
+                addFeatures(file, variables, visited, features);
+            }
+        } else {
+            addFeatures(includedFile, variables, visited, features);
+        }
+    }
+
+    private void addFeatures(File file, Properties variables, Set<String> visited, Set<String> features) {
+        // also stops include cycles
+        if (!visited.add(file.getAbsolutePath())) {
+            return;
+        }
+        ConfigFragment fragment = getFragment(file);
+        if (fragment == null) {
+            return;
+        }
+        features.addAll(fragment.features());
+        for (String location : fragment.includes()) {
+            addIncludedFeatures(file.getParentFile(), location, variables, fragment.variables(), visited, features);
+        }
+    }
+
+    /**
+     * Replaces the variables in the location, or returns null if any of them is not defined.
+     */
+    private static String resolveVariables(String location, Properties variables, Map<String, String> fileVariables) {
+        if (!location.contains("$")) {
+            return location;
+        }
+        Matcher matcher = VARIABLE_PATTERN.matcher(location);
+        StringBuilder resolved = new StringBuilder();
+        while (matcher.find()) {
+            String name = matcher.group(1);
+            String value = variables == null ? null : variables.getProperty(name);
+            if (value == null) {
+                value = fileVariables.get(name);
+            }
+            if (value == null) {
+                return null;
+            }
+            matcher.appendReplacement(resolved, Matcher.quoteReplacement(value));
+        }
+        matcher.appendTail(resolved);
+        return resolved.indexOf("$") < 0 ? resolved.toString() : null;
+    }
+
+    // sorted by name, the order Liberty processes them in
+    private static List<File> listXmlFiles(File dir) {
+        if (!FileStatCache.getInstance().isDirectory(dir)) {
+            return Collections.emptyList();
+        }
+        File[] files = dir.listFiles((parent, name) -> name.endsWith(".xml"));
+        if (files == null) {
+            return Collections.emptyList();
+        }
+        Arrays.sort(files);
+        return Arrays.asList(files);
+    }
+
+    /**
+     * Returns the scanned content of the file, scanning it again if it changed since it was cached,
+     * or null if it is not a file.
+     */
+    private ConfigFragment getFragment(File file) {
+        String path = file.getAbsolutePath();
+        FileStatCache fileStats = FileStatCache.getInstance();
+        if (!fileStats.isFile(file)) {
+            fragments.remove(path);
+            return null;
+        }
+        long lastModified = fileStats.lastModified(file);
+        long length = fileStats.length(file);
+        ConfigFragment fragment = fragments.get(path);
+        if (fragment == null || fragment.lastModified() != lastModified || fragment.length() != length) {
+            fragment = scan(file, lastModified, length);
+            fragments.put(path, fragment);
+        }
+        return fragment;
+    }
+
+    private static ConfigFragment scan(File file, long lastModified, long length) {
+        List<String> features = new ArrayList<>();
+        List<String> includes = new ArrayList<>();
+        Map<String, String> variables = new HashMap<>();
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(in);
+            try {
+                // the server element is at depth 1, its children at depth 2
+                int depth = 0;
+                boolean inFeatureManager = false;
+                while (reader.hasNext()) {
+                    int event = reader.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        depth++;
+                        String name = reader.getLocalName();
+                        if (depth == 2) {
+                            if (LibertyConstants.FEATURE_MANAGER_ELEMENT.equals(name)) {
+                                inFeatureManager = true;
+                            } else if (LibertyConstants.INCLUDE_ELEMENT.equals(name)) {
+                                addIfNotNull(includes, reader.getAttributeValue(null, "location"));
+                            } else if (LibertyConstants.VARIABLE_ELEMENT.equals(name)) {
+                                addVariable(variables, reader);
+                            }
+                        } else if (depth == 3 && inFeatureManager && LibertyConstants.FEATURE_ELEMENT.equals(name)) {
+                            // reads up to and including the end element
+                            String feature = reader.getElementText().trim();
+                            depth--;
+                            if (!feature.isEmpty()) {
+                                features.add(feature.toLowerCase());
+                            }
+                        }
+                    } else if (event == XMLStreamConstants.END_ELEMENT) {
+                        if (depth == 2) {
+                            inFeatureManager = false;
+                        }
+                        depth--;
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (IOException | XMLStreamException e) {
+            // keep what was read so far, the file may be empty or in the middle of being edited
+            LOGGER.fine("Unable to scan config file " + file + ": " + e.getMessage());
+        }
+        return new ConfigFragment(lastModified, length, features, includes, variables);
+    }
+
+    private static void addVariable(Map<String, String> variables, XMLStreamReader reader) {
+        String name = reader.getAttributeValue(null, "name");
+        if (name == null) {
+            return;
+        }
+        String value = reader.getAttributeValue(null, "value");
+        if (value != null) {
+            variables.put(name, value);
+        } else {
+            addIfNotNull(variables, name, reader.getAttributeValue(null, "defaultValue"));
+        }
+    }
+
+    private static void addIfNotNull(List<String> list, String value) {
+        if (value != null) {
+            list.add(value);
+        }
+    }
+
+    // a value overrides a default value, but a default value never overrides anything
+    private static void addIfNotNull(Map<String, String> variables, String name, String defaultValue) {
+        if (defaultValue != null) {
+            variables.putIfAbsent(name, defaultValue);
+        }
+    }
+
+    private record ConfigFragment(long lastModified, long length, List<String> features, List<String> includes,
+                                  Map<String, String> variables) {
+    }
+}
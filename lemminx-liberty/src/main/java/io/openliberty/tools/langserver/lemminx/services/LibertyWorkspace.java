@@ -20,6 +20,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -41,9 +42,9 @@ public class LibertyWorkspace {
     private String libertyVersion;
     private String libertyRuntime;
     private boolean isLibertyInstalled;
-    private FeaturesAndPlatforms installedFeaturesAndPlatformsList;
     private String libertyInstallationDir;
-    private FeatureListGraph featureListGraph;
+    // installed features and feature list graph, replaced as a whole whenever either changes
+    private final AtomicReference<FeatureSnapshot> featureSnapshot;
 
     // devc vars
     private String containerName;
@@ -63,11 +64,10 @@ public class LibertyWorkspace {
         this.libertyRuntime = null;
         this.isLibertyInstalled = false;
         this.libertyInstallationDir = null;
-        this.installedFeaturesAndPlatformsList = new FeaturesAndPlatforms();
+        this.featureSnapshot = new AtomicReference<FeatureSnapshot>(FeatureSnapshot.empty());
         this.containerName = null;
         this.containerType = "docker";
         this.containerAlive = false;
-        this.featureListGraph = new FeatureListGraph();
     }
 
     public String getWorkspaceString() {
@@ -111,7 +111,7 @@ public class LibertyWorkspace {
             // do not clear out the libertyRuntime or libertyVersion since those could be set for a live container
             setLibertyInstallationDir(null);
             // clear the cached feature list when Liberty is no longer installed
-            this.installedFeaturesAndPlatformsList = new FeaturesAndPlatforms();
+            setInstalledFeaturesAndPlatformsList(new FeaturesAndPlatforms());
         }
     }
 
@@ -128,11 +128,29 @@ public class LibertyWorkspace {
     }
 
     public FeaturesAndPlatforms getInstalledFeaturesAndPlatformsList() {
-        return this.installedFeaturesAndPlatformsList;
+        return this.featureSnapshot.get().getInstalledFeatures();
     }
 
     public void setInstalledFeaturesAndPlatformsList(FeaturesAndPlatforms installedFeaturesAndPlatforms) {
-        this.installedFeaturesAndPlatformsList = installedFeaturesAndPlatforms;
+        this.featureSnapshot.updateAndGet(snapshot -> snapshot.withInstalledFeatures(installedFeaturesAndPlatforms));
+    }
+
+    /**
+     * Returns the current feature data of this workspace. Callers that need both the installed features
+     * and the feature list graph should read them from one snapshot so that they always match.
+     */
+    public FeatureSnapshot getFeatureSnapshot() {
+        return this.featureSnapshot.get();
+    }
+
+    /**
+     * Replaces the installed features and the feature list graph at once, so that readers see either the
+     * previous or the new pair and never one of each. The graph is sealed and cannot be modified afterwards.
+     */
+    public void publishFeatures(FeaturesAndPlatforms installedFeaturesAndPlatforms, FeatureListGraph featureListGraph) {
+        FeatureSnapshot snapshot = FeatureSnapshot.of(installedFeaturesAndPlatforms, featureListGraph, getFeatureListGraphRuntime());
+        this.featureSnapshot.set(snapshot);
+        LOGGER.fine("Published feature snapshot " + snapshot.getVersion() + " for workspace " + workspaceFolderURI);
     }
 
     public String getContainerName() {
@@ -222,17 +240,18 @@ public class LibertyWorkspace {
     }
 
     public void setFeatureListGraph(FeatureListGraph featureListGraph) {
-        this.featureListGraph = featureListGraph;
-        if (isLibertyInstalled || isContainerAlive()) {
-            this.featureListGraph.setRuntime(libertyRuntime + "-" + libertyVersion);
-        } else {
-            this.featureListGraph.setRuntime("");
-        }
+        String runtime = getFeatureListGraphRuntime();
+        this.featureSnapshot.updateAndGet(snapshot -> snapshot.withFeatureListGraph(featureListGraph, runtime));
+    }
+
+    private String getFeatureListGraphRuntime() {
+        return (isLibertyInstalled || isContainerAlive()) ? libertyRuntime + "-" + libertyVersion : "";
     }
 
     public FeatureListGraph getFeatureListGraph() {
-        FeatureListGraph useFeatureListGraph = this.featureListGraph;
-        boolean generateGraph = featureListGraph.isEmpty() || !featureListGraph.getRuntime().equals(getWorkspaceRuntime());
+        FeatureSnapshot snapshot = this.featureSnapshot.get();
+        FeatureListGraph useFeatureListGraph = snapshot.getFeatureListGraph();
+        boolean generateGraph = useFeatureListGraph.isEmpty() || !snapshot.getRuntime().equals(getWorkspaceRuntime());
 
         if (!generateGraph && (isLibertyInstalled || isContainerAlive())) {
             // Check if FeatureListGraph needs to be reinitialized. This can happen if new features are installed.
@@ -241,7 +260,7 @@ public class LibertyWorkspace {
             if (!FeatureService.getInstance().doesGeneratedFeatureListExist(this)) {
                 generateGraph = true;
                 // clear out cached feature list
-                this.installedFeaturesAndPlatformsList = new FeaturesAndPlatforms();
+                setInstalledFeaturesAndPlatformsList(new FeaturesAndPlatforms());
 
             }
         }
@@ -250,7 +269,7 @@ public class LibertyWorkspace {
             if (isLibertyInstalled || isContainerAlive()) {
                 LOGGER.info("Generating installed features list and storing to cache for workspace " + workspaceFolderURI);
                 FeatureService.getInstance().getInstalledFeaturesAndPlatformsList(this, libertyRuntime, libertyVersion);
-                useFeatureListGraph = this.featureListGraph;
+                useFeatureListGraph = this.featureSnapshot.get().getFeatureListGraph();
             } else {
                  LOGGER.info("Retrieving default cached feature list for workspace " + workspaceFolderURI);
                  useFeatureListGraph = FeatureService.getInstance().getDefaultFeatureList();
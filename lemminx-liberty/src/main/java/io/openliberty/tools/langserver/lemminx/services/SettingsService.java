@@ -24,6 +24,7 @@ import java.io.File;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 import static io.openliberty.tools.langserver.lemminx.util.LibertyUtils.findFileInWorkspace;
@@ -42,6 +43,11 @@ public class SettingsService {
 
     // default request delay is 10 seconds
     private static int DEFAULT_REQUEST_DELAY = 10;
+    // default feature catalog cache limits, a merged wlp and ol catalog holds about 3000 features
+    public static final int DEFAULT_FEATURE_CACHE_MAX_ENTRIES = 4;
+    public static final int DEFAULT_FEATURE_CACHE_MAX_FEATURES = 12000;
+    // default time a downloaded resource is used before it is revalidated is 1 hour
+    private static int DEFAULT_DOWNLOAD_CACHE_TTL = 3600;
     private static final Logger LOGGER = Logger.getLogger(SettingsService.class.getName());
 
     private SettingsService() {
@@ -49,10 +55,11 @@ public class SettingsService {
 
     private LibertySettings settings;
 
-    private Map<String,Properties> variables;
+    // populated by the start up warm-up and the file watchers, read by the participants
+    private final Map<String,Properties> variables = new ConcurrentHashMap<>();
     private Locale currentLocale = Locale.getDefault();
     private boolean configCopiedToServer = false;
-    private String latestRuntimeVersion;
+    private volatile String latestRuntimeVersion;
     private Path featureJsonFilePath;
 
     /**
@@ -85,16 +92,75 @@ public class SettingsService {
         return DEFAULT_REQUEST_DELAY;
     }
 
+    /**
+     * Returns the maximum number of runtime-version feature catalogs to keep in memory.
+     * Uses xml.liberty.featureCacheMaxEntries if set, otherwise the default.
+     */
+    public int getFeatureCacheMaxEntries() {
+        if (settings != null && settings.getFeatureCacheMaxEntries() > 0) {
+            return settings.getFeatureCacheMaxEntries();
+        }
+        return DEFAULT_FEATURE_CACHE_MAX_ENTRIES;
+    }
+
+    /**
+     * Returns true if runtime specific feature catalogs should be downloaded in the background while the default
+     * or installed catalog is served. Uses xml.liberty.backgroundFeatureFetch, which defaults to false.
+     */
+    public boolean isBackgroundFeatureFetch() {
+        return settings != null && settings.isBackgroundFeatureFetch();
+    }
+
+    /**
+     * Returns the maximum total number of features to keep in memory across all cached feature catalogs.
+     * Uses xml.liberty.featureCacheMaxFeatures if set, otherwise the default.
+     */
+    public int getFeatureCacheMaxFeatures() {
+        if (settings != null && settings.getFeatureCacheMaxFeatures() > 0) {
+            return settings.getFeatureCacheMaxFeatures();
+        }
+        return DEFAULT_FEATURE_CACHE_MAX_FEATURES;
+    }
+
+    /**
+     * Returns the number of seconds a downloaded resource is used without asking the server if it changed.
+     * Uses xml.liberty.downloadCacheTtl if set, otherwise the default.
+     */
+    public int getDownloadCacheTtl() {
+        if (settings != null && settings.getDownloadCacheTtl() > 0) {
+            return settings.getDownloadCacheTtl();
+        }
+        return DEFAULT_DOWNLOAD_CACHE_TTL;
+    }
+
+    /**
+     * Returns the base url of the repository to read Maven Central artifacts from, or null to use Maven Central.
+     * Uses xml.liberty.artifactRepository.
+     */
+    public String getArtifactRepository() {
+        return settings != null ? settings.getArtifactRepository() : null;
+    }
+
+    /**
+     * Returns true if artifacts must not be requested over the network. Uses xml.liberty.offline, which defaults to false.
+     */
+    public boolean isOffline() {
+        return settings != null && settings.isOffline();
+    }
+
     /**
      * populate all variables for all available workspace folders
      *
      * @param workspaceFolders workspace folders
      */
     public void populateAllVariables(Collection<LibertyWorkspace> workspaceFolders) {
-        variables = new HashMap<>();
+        // entries are replaced one workspace at a time, so readers always see complete variables of a workspace
+        Set<String> workspaceStrings = new HashSet<>();
         for (LibertyWorkspace workspace : workspaceFolders) {
-            populateVariablesForWorkspace(workspace);
+            workspaceStrings.add(workspace.getWorkspaceString());
+            variables.put(workspace.getWorkspaceString(), readVariablesForWorkspace(workspace));
         }
+        variables.keySet().retainAll(workspaceStrings);
     }
 
     /**
@@ -103,6 +169,10 @@ public class SettingsService {
      * @param workspace workspace
      */
     public void populateVariablesForWorkspace(LibertyWorkspace workspace) {
+        variables.put(workspace.getWorkspaceString(), readVariablesForWorkspace(workspace));
+    }
+
+    private Properties readVariablesForWorkspace(LibertyWorkspace workspace) {
         Properties variablesForWorkspace = new Properties();
         Path pluginConfigFilePath = findFileInWorkspace(workspace, Paths.get("liberty-plugin-config.xml"));
         if (pluginConfigFilePath != null) {
@@ -125,7 +195,7 @@ public class SettingsService {
         } else {
             LOGGER.warning("Could not find liberty-plugin-config.xml in workspace URI " + workspace.getWorkspaceString() + ". Variable resolution cannot be performed");
         }
-        variables.put(workspace.getWorkspaceString(), variablesForWorkspace);
+        return variablesForWorkspace;
     }
 
     /**
@@ -136,11 +206,13 @@ public class SettingsService {
      */
     public Properties getVariablesForServerXml(String serverXmlURI) {
         LibertyWorkspace workspace = LibertyProjectsManager.getInstance().getWorkspaceFolder(serverXmlURI);
-        Properties variableProps = new Properties();
+        Properties variableProps = workspace == null ? null : variables.get(workspace.getWorkspaceString());
+        if (variableProps != null) {
+            return variableProps;
+        }
+        variableProps = new Properties();
         if (workspace == null) {
             LOGGER.warning("Could not find workspace for server xml URI %s. Variable resolution cannot be performed.".formatted(serverXmlURI));
-        } else if (variables != null && variables.containsKey(workspace.getWorkspaceString())) {
-            variableProps = variables.get(workspace.getWorkspaceString());
         } else {
             LOGGER.warning("Could not find variable mapping for workspace URI %s. Variable resolution cannot be performed.".formatted(workspace.getWorkspaceString()));
         }
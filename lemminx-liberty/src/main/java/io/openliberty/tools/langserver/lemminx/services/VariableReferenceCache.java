@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package io.openliberty.tools.langserver.lemminx.services;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.lemminx.dom.DOMAttr;
+import org.eclipse.lemminx.dom.DOMDocument;
+import org.eclipse.lemminx.dom.DOMNode;
+
+import io.openliberty.tools.langserver.lemminx.models.feature.VariableLoc;
+
+/**
+ * Finds the ${...} variable references of Liberty config documents, and caches them per document version
+ * so that diagnostics and hover share a single scan of the document.
+ *
+ * The DOM is walked once, and only attribute values and text (including CDATA) are scanned, so references
+ * in comments, tags and processing instructions are ignored. Offsets are those of the variable names in the
+ * document text. A cached result is reused while the document has the same version and text, and at most
+ * MAX_DOCUMENTS documents are cached.
+ */
+public class VariableReferenceCache {
+
+    private static final int MAX_DOCUMENTS = 16;
+
+    //considering ${var} pattern for variable.  do we have other representation for variable?
+    private static final Pattern VAR_PATTERN = Pattern.compile("\\$\\{(.*?)\\}");
+
+    private static final VariableReferenceCache instance = new VariableReferenceCache();
+
+    public static VariableReferenceCache getInstance() {
+        return instance;
+    }
+
+    private final Map<String, DocumentReferences> documents = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, DocumentReferences> eldest) {
+            return size() > MAX_DOCUMENTS;
+        }
+    };
+
+    private VariableReferenceCache() {
+    }
+
+    /**
+     * Returns the variable references of the document in document order. The returned list and
+     * its elements must not be modified.
+     */
+    public List<VariableLoc> getVariableReferences(DOMDocument domDocument) {
+        String uri = domDocument.getDocumentURI();
+        String text = domDocument.getText();
+        int version = domDocument.getTextDocument().getVersion();
+        synchronized (this) {
+            DocumentReferences cached = documents.get(uri);
+            // the text is compared by identity, a new version of a document always has a new text
+            if (cached != null && cached.version() == version && cached.text() == text) {
+                return cached.references();
+            }
+        }
+        List<VariableLoc> references = new ArrayList<>();
+        scanNode(domDocument, text, references);
+        List<VariableLoc> result = Collections.unmodifiableList(references);
+        synchronized (this) {
+            documents.put(uri, new DocumentReferences(version, text, result));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the variable references of the document that are inside the value of the passed attribute.
+     */
+    public List<VariableLoc> getVariableReferences(DOMDocument domDocument, DOMAttr attr) {
+        DOMNode value = attr.getNodeAttrValue();
+        if (value == null) {
+            return Collections.emptyList();
+        }
+        List<VariableLoc> references = new ArrayList<>();
+        for (VariableLoc reference : getVariableReferences(domDocument)) {
+            if (reference.getStartLoc() >= value.getStart() && reference.getEndLoc() <= value.getEnd()) {
+                references.add(reference);
+            }
+        }
+        return references;
+    }
+
+    /**
+     * Returns the variable references in the passed text, such as the value of an attribute being edited,
+     * with offsets relative to the text.
+     */
+    public static List<VariableLoc> scanVariableReferences(String text) {
+        List<VariableLoc> references = new ArrayList<>();
+        scan(text, 0, text.length(), references);
+        return references;
+    }
+
+    public synchronized void clear() {
+        documents.clear();
+    }
+
+    private static void scanNode(DOMNode node, String text, List<VariableLoc> references) {
+        if (node.isElement()) {
+            List<DOMAttr> attributes = node.getAttributeNodes();
+            if (attributes != null) {
+                for (DOMAttr attr : attributes) {
+                    DOMNode value = attr.getNodeAttrValue();
+                    if (value != null) {
+                        scan(text, value.getStart(), value.getEnd(), references);
+                    }
+                }
+            }
+        } else if (node.isText() || node.isCDATA()) {
+            scan(text, node.getStart(), node.getEnd(), references);
+            return;
+        }
+        for (DOMNode child : node.getChildren()) {
+            scanNode(child, text, references);
+        }
+    }
+
+    private static void scan(String text, int start, int end, List<VariableLoc> references) {
+        // nodes of a document that is being edited can end past its text
+        int regionEnd = Math.min(end, text.length());
+        if (start < 0 || start >= regionEnd) {
+            return;
+        }
+        Matcher m = VAR_PATTERN.matcher(text).region(start, regionEnd);
+        while (m.find()) {
+            references.add(new VariableLoc(m.group(1), m.start(1), m.end(1)));
+        }
+    }
+
+    private record DocumentReferences(int version, String text, List<VariableLoc> references) {
+    }
+}
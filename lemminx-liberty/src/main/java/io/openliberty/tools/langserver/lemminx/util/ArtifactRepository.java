@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package io.openliberty.tools.langserver.lemminx.util;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.logging.Logger;
+
+import io.openliberty.tools.langserver.lemminx.services.SettingsService;
+
+/**
+ * Decides where the Liberty artifacts published to Maven Central are read from.
+ *
+ * The artifact URLs used by the language server are all Maven Central URLs. If
+ * xml.liberty.artifactRepository is set, the Maven Central base URL is replaced by it, so the
+ * artifacts can come from an internal mirror (http or https) or from a local directory with the
+ * Maven repository layout (file). If xml.liberty.offline is set, nothing is requested over the
+ * network: only a file repository and the local caches are used.
+ *
+ * Cached copies are always stored under the Maven Central URL, so switching repositories
+ * keeps using the same cache.
+ */
+public class ArtifactRepository {
+
+    private static final Logger LOGGER = Logger.getLogger(ArtifactRepository.class.getName());
+
+    public static final String MAVEN_CENTRAL_URL = "https://repo1.maven.org/maven2/";
+
+    private ArtifactRepository() {
+    }
+
+    /**
+     * Returns the URL to read the passed Maven Central artifact URL from. URLs that are not
+     * Maven Central URLs, or any URL if no repository is configured, are returned unchanged.
+     *
+     * @param url Maven Central artifact url
+     * @return url in the configured repository
+     */
+    public static String resolve(String url) {
+        String repositoryUrl = SettingsService.getInstance().getArtifactRepository();
+        if (repositoryUrl == null || repositoryUrl.isBlank() || !url.startsWith(MAVEN_CENTRAL_URL)) {
+            return url;
+        }
+        String base = repositoryUrl.trim();
+        if (!base.endsWith("/")) {
+            base = base + "/";
+        }
+        String resolvedUrl = base + url.substring(MAVEN_CENTRAL_URL.length());
+        LOGGER.finest("Resolved %s to %s".formatted(url, resolvedUrl));
+        return resolvedUrl;
+    }
+
+    /**
+     * Returns true if the passed url is in a local file repository.
+     */
+    public static boolean isLocal(String url) {
+        return url.startsWith("file:");
+    }
+
+    /**
+     * Returns the local file for a url in a file repository.
+     */
+    public static Path toPath(String url) {
+        return Path.of(URI.create(url));
+    }
+
+    /**
+     * Returns true if nothing may be requested over the network.
+     */
+    public static boolean isOffline() {
+        return SettingsService.getInstance().isOffline();
+    }
+}
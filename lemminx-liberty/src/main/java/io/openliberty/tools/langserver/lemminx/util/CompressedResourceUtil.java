@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package io.openliberty.tools.langserver.lemminx.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+
+import org.eclipse.lemminx.uriresolver.CacheResourcesManager;
+import org.eclipse.lemminx.uriresolver.CacheResourcesManager.ResourceToDeploy;
+
+/**
+ * Deploys classpath resources that are stored gzip compressed to the .lemminx cache.
+ *
+ * The localized schemas and feature lists are stored in the jar as &lt;name&gt;.gz, with the SHA-256 of
+ * each uncompressed file listed in a SHA256SUMS file in the same folder (sha256sum format). A resource is
+ * only extracted when it is first needed, so only the locale in use is ever written to disk. Extraction
+ * streams into a temporary file while computing the checksum, and the file is only moved into place if
+ * the checksum matches the manifest.
+ *
+ * The resources are generated by the all-locales-schema-and-features-gen-ol-it integration test, which
+ * also writes the .gz files and their SHA256SUMS lines.
+ */
+public class CompressedResourceUtil {
+
+    private static final Logger LOGGER = Logger.getLogger(CompressedResourceUtil.class.getName());
+
+    private static final String COMPRESSED_EXTENSION = ".gz";
+    private static final String CHECKSUMS_FILE = "SHA256SUMS";
+
+    // classpath folder -> (file name -> sha256), each manifest is read once
+    private static final Map<String, Map<String, String>> checksums = new ConcurrentHashMap<>();
+
+    private CompressedResourceUtil() {
+    }
+
+    /**
+     * Returns the deployed path of the passed resource, extracting its compressed copy from the
+     * classpath if it was not deployed yet. Resources without a compressed copy are deployed by
+     * the CacheResourcesManager as before.
+     *
+     * @param resource              resource to deploy
+     * @param resourceFromClasspath classpath location of the uncompressed resource
+     * @return deployed resource path
+     * @throws IOException if the resource cannot be found, extracted or verified
+     */
+    public static Path getResourceCachePath(ResourceToDeploy resource, String resourceFromClasspath) throws IOException {
+        Path deployedPath = resource.getDeployedPath();
+        if (Files.isRegularFile(deployedPath)) {
+            return deployedPath;
+        }
+        if (CompressedResourceUtil.class.getResource(resourceFromClasspath + COMPRESSED_EXTENSION) == null) {
+            return CacheResourcesManager.getResourceCachePath(resource);
+        }
+        synchronized (CompressedResourceUtil.class) {
+            // another thread may have extracted it while this one waited
+            if (!Files.isRegularFile(deployedPath)) {
+                extract(resourceFromClasspath, deployedPath);
+            }
+        }
+        return deployedPath;
+    }
+
+    private static void extract(String resourceFromClasspath, Path deployedPath) throws IOException {
+        String expectedChecksum = getExpectedChecksum(resourceFromClasspath);
+        if (expectedChecksum == null) {
+            throw new IOException("No checksum found for compressed resource " + resourceFromClasspath);
+        }
+
+        long startTime = System.currentTimeMillis();
+        Files.createDirectories(deployedPath.getParent());
+        Path tempFile = Files.createTempFile(deployedPath.getParent(), deployedPath.getFileName().toString(), ".tmp");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new GZIPInputStream(CompressedResourceUtil.class.getResourceAsStream(resourceFromClasspath + COMPRESSED_EXTENSION), 64 * 1024);
+                 OutputStream out = new DigestOutputStream(Files.newOutputStream(tempFile), digest)) {
+                in.transferTo(out);
+            }
+            String actualChecksum = HexFormat.of().formatHex(digest.digest());
+            if (!expectedChecksum.equalsIgnoreCase(actualChecksum)) {
+                throw new IOException("Checksum mismatch for compressed resource %s, expected %s but was %s".formatted(resourceFromClasspath, expectedChecksum, actualChecksum));
+            }
+            Files.move(tempFile, deployedPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOGGER.fine("Extracted %s to %s in %d ms".formatted(resourceFromClasspath, deployedPath, System.currentTimeMillis() - startTime));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private static String getExpectedChecksum(String resourceFromClasspath) throws IOException {
+        int separator = resourceFromClasspath.lastIndexOf('/');
+        String folder = resourceFromClasspath.substring(0, separator + 1);
+        String fileName = resourceFromClasspath.substring(separator + 1);
+        Map<String, String> folderChecksums = checksums.get(folder);
+        if (folderChecksums == null) {
+            folderChecksums = readChecksums(folder);
+            checksums.put(folder, folderChecksums);
+        }
+        return folderChecksums.get(fileName);
+    }
+
+    private static Map<String, String> readChecksums(String folder) throws IOException {
+        InputStream in = CompressedResourceUtil.class.getResourceAsStream(folder + CHECKSUMS_FILE);
+        if (in == null) {
+            return new ConcurrentHashMap<>();
+        }
+        return parseChecksums(in);
+    }
+
+    private static Map<String, String> parseChecksums(InputStream in) throws IOException {
+        Map<String, String> folderChecksums = new ConcurrentHashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // <sha256><two spaces, or space and * for binary mode><file name>
+                String[] parts = line.trim().split("\\s+\\*?", 2);
+                if (parts.length == 2) {
+                    folderChecksums.put(parts[1], parts[0]);
+                }
+            }
+        }
+        return folderChecksums;
+    }
+}
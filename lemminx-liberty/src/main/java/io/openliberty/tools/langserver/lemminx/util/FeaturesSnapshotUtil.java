@@ -0,0 +1,259 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package io.openliberty.tools.langserver.lemminx.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.logging.Logger;
+
+import io.openliberty.tools.langserver.lemminx.models.feature.Feature;
+import io.openliberty.tools.langserver.lemminx.models.feature.FeatureTolerate;
+import io.openliberty.tools.langserver.lemminx.models.feature.FeaturesAndPlatforms;
+import io.openliberty.tools.langserver.lemminx.models.feature.WlpInformation;
+
+/**
+ * Reads and writes a compact binary snapshot of a parsed features json file, so that a warm
+ * start can skip the json parsing. The snapshot is stored next to the json file and records the
+ * runtime, version and SHA-256 of the json it was created from. A snapshot that does not match
+ * all three is ignored and rewritten.
+ *
+ * Only the fields used by the language server are stored: name, description, short description,
+ * symbolic name and, from wlpInformation, short name, visibility, platforms, required features
+ * and required features with tolerates. The lookup indexes of FeaturesAndPlatforms are rebuilt
+ * from the feature lists when the snapshot is loaded.
+ */
+public class FeaturesSnapshotUtil {
+
+    private static final Logger LOGGER = Logger.getLogger(FeaturesSnapshotUtil.class.getName());
+
+    public static final String SNAPSHOT_EXTENSION = ".snapshot";
+    private static final int MAGIC = 0x4C4C5346; // "LLSF"
+    private static final int FORMAT_VERSION = 1;
+
+    private FeaturesSnapshotUtil() {
+    }
+
+    public static File getSnapshotFile(File jsonFile) {
+        return new File(jsonFile.getParentFile(), jsonFile.getName() + SNAPSHOT_EXTENSION);
+    }
+
+    /**
+     * Returns the SHA-256 of the passed file as a hex string.
+     */
+    public static String hash(File file) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream is = new BufferedInputStream(Files.newInputStream(file.toPath()))) {
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = is.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Loads the snapshot stored next to the passed json file.
+     *
+     * @return the features and platforms, or null if there is no snapshot or it does not match the passed key
+     */
+    public static FeaturesAndPlatforms readSnapshot(File jsonFile, String libertyRuntime, String libertyVersion, String contentHash) {
+        File snapshotFile = getSnapshotFile(jsonFile);
+        if (!snapshotFile.isFile()) {
+            return null;
+        }
+        // no length or count read from the snapshot can exceed the size of the file, so a corrupt one fails instead of allocating it
+        long limit = snapshotFile.length();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile.toPath()), 64 * 1024))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                LOGGER.fine("Ignoring features snapshot with unknown format: " + snapshotFile);
+                return null;
+            }
+            String runtime = readString(in, limit);
+            String version = readString(in, limit);
+            String hash = readString(in, limit);
+            if (!libertyRuntime.equals(runtime) || !libertyVersion.equals(version) || !contentHash.equals(hash)) {
+                LOGGER.fine("Ignoring out of date features snapshot: " + snapshotFile);
+                return null;
+            }
+            List<Feature> publicFeatures = readFeatures(in, limit);
+            List<Feature> privateFeatures = readFeatures(in, limit);
+            return new FeaturesAndPlatforms(publicFeatures, privateFeatures);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warning("Unable to read features snapshot " + snapshotFile + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes a snapshot of the passed features and platforms next to the passed json file.
+     * Failures are logged and otherwise ignored, since the snapshot is only an optimization.
+     */
+    public static void writeSnapshot(File jsonFile, String libertyRuntime, String libertyVersion, String contentHash, FeaturesAndPlatforms fp) {
+        File snapshotFile = getSnapshotFile(jsonFile);
+        Path tempFile = null;
+        try {
+            tempFile = Files.createTempFile(snapshotFile.getParentFile().toPath(), snapshotFile.getName(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile), 64 * 1024))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                writeString(out, libertyRuntime);
+                writeString(out, libertyVersion);
+                writeString(out, contentHash);
+                writeFeatures(out, fp.getPublicFeatures());
+                writeFeatures(out, fp.getPrivateFeatures());
+            }
+            // move into place so a concurrent reader never sees a partial snapshot
+            Files.move(tempFile, snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOGGER.fine("Wrote features snapshot: " + snapshotFile);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warning("Unable to write features snapshot " + snapshotFile + ": " + e.getMessage());
+            if (tempFile != null) {
+                tempFile.toFile().delete();
+            }
+        }
+    }
+
+    private static void writeFeatures(DataOutputStream out, List<Feature> features) throws IOException {
+        out.writeInt(features.size());
+        for (Feature f : features) {
+            writeString(out, f.getName());
+            writeString(out, f.getDescription());
+            writeString(out, f.getShortDescription());
+            writeString(out, f.getSymbolicName());
+            WlpInformation wlpInfo = f.getWlpInformation();
+            out.writeBoolean(wlpInfo != null);
+            if (wlpInfo != null) {
+                writeString(out, wlpInfo.getShortName());
+                writeString(out, wlpInfo.getVisibility());
+                writeStrings(out, wlpInfo.getPlatforms());
+                writeStrings(out, wlpInfo.getRequireFeature());
+                List<FeatureTolerate> tolerates = wlpInfo.getRequireFeatureWithTolerates();
+                out.writeInt(tolerates == null ? -1 : tolerates.size());
+                if (tolerates != null) {
+                    for (FeatureTolerate ft : tolerates) {
+                        writeString(out, ft.getFeature());
+                        writeStrings(out, ft.getTolerates());
+                    }
+                }
+            }
+        }
+    }
+
+    private static List<Feature> readFeatures(DataInputStream in, long limit) throws IOException {
+        int count = readCount(in, limit);
+        if (count < 0) {
+            throw new IOException("Invalid feature count " + count);
+        }
+        List<Feature> features = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Feature f = new Feature();
+            f.setName(readString(in, limit));
+            f.setDescription(readString(in, limit));
+            f.setShortDescription(readString(in, limit));
+            f.setSymbolicName(readString(in, limit));
+            if (in.readBoolean()) {
+                WlpInformation wlpInfo = new WlpInformation(readString(in, limit));
+                wlpInfo.setVisibility(readString(in, limit));
+                wlpInfo.setPlatforms(readStrings(in, limit));
+                wlpInfo.setRequireFeature(readStrings(in, limit));
+                int toleratesCount = readCount(in, limit);
+                if (toleratesCount >= 0) {
+                    List<FeatureTolerate> tolerates = new ArrayList<>(toleratesCount);
+                    for (int j = 0; j < toleratesCount; j++) {
+                        FeatureTolerate ft = new FeatureTolerate();
+                        ft.setFeature(readString(in, limit));
+                        ft.setTolerates(readStrings(in, limit));
+                        tolerates.add(ft);
+                    }
+                    wlpInfo.setRequireFeatureWithTolerates(tolerates);
+                }
+                f.setWlpInformation(wlpInfo);
+            }
+            features.add(f);
+        }
+        return features;
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        out.writeInt(values == null ? -1 : values.size());
+        if (values != null) {
+            for (String value : values) {
+                writeString(out, value);
+            }
+        }
+    }
+
+    private static ArrayList<String> readStrings(DataInputStream in, long limit) throws IOException {
+        int count = readCount(in, limit);
+        if (count < 0) {
+            return null;
+        }
+        ArrayList<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(readString(in, limit));
+        }
+        return values;
+    }
+
+    // DataOutputStream.writeUTF is limited to 64K, so write length prefixed UTF-8 with -1 for null
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in, long limit) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > limit) {
+            throw new IOException("Invalid string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // -1 for null, every element takes at least the four bytes of its own length or count
+    private static int readCount(DataInputStream in, long limit) throws IOException {
+        int count = in.readInt();
+        if (count < -1 || count > limit / 4) {
+            throw new IOException("Invalid count " + count);
+        }
+        return count;
+    }
+}
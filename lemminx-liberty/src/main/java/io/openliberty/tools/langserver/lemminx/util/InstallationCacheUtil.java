@@ -0,0 +1,270 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package io.openliberty.tools.langserver.lemminx.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.logging.Logger;
+
+import org.apache.commons.io.FileUtils;
+
+import io.openliberty.tools.langserver.lemminx.data.FeatureListGraph;
+import io.openliberty.tools.langserver.lemminx.models.feature.FeaturesAndPlatforms;
+
+/**
+ * User level cache of the files generated from a local Liberty installation, so that reopening a project
+ * with an unchanged installation does not run ws-featurelist.jar or ws-schemagen.jar again. The workspace
+ * .libertyls folder is deleted on shutdown, this cache is not.
+ *
+ * Entries are stored in ~/.lemminx/cache/liberty/&lt;fingerprint&gt;, where the fingerprint is the SHA-256 of
+ * the runtime, version and locale and of the name, size and modification time of every feature manifest in
+ * lib/features and usr/extension/lib/features. Installing or removing a feature therefore changes the
+ * fingerprint. The manifests are only listed and their attributes read, not their content, so computing the
+ * fingerprint each time it is needed is cheap compared with running the tools.
+ *
+ * An entry holds the generated featurelist.xml and server.xsd, a features snapshot of the feature list (see
+ * FeaturesSnapshotUtil) and the serialized FeatureListGraph. Files are moved into place atomically, and
+ * any entry that cannot be read is ignored and regenerated. The modification time of an entry folder is
+ * updated whenever the entry is used, and only the MAX_ENTRIES most recently used entries are kept.
+ */
+public class InstallationCacheUtil {
+
+    private static final Logger LOGGER = Logger.getLogger(InstallationCacheUtil.class.getName());
+
+    public static final String FEATURELIST_FILE = "featurelist.xml";
+    public static final String SCHEMA_FILE = "server.xsd";
+    private static final String GRAPH_FILE = "featurelist.graph";
+    private static final int GRAPH_MAGIC = 0x4C4C4647; // "LLFG"
+    private static final int GRAPH_FORMAT_VERSION = 1;
+    private static final int MAX_ENTRIES = 5;
+
+    private static final Path CACHE_DIR = Paths.get(System.getProperty("user.home"), ".lemminx", "cache", "liberty");
+    private static final List<Path> FEATURE_MANIFEST_DIRS = List.of(Paths.get("lib", "features"), Paths.get("usr", "extension", "lib", "features"));
+
+    private InstallationCacheUtil() {
+    }
+
+    /**
+     * Returns the fingerprint of the Liberty installation that contains the passed tool jar, or null if the
+     * installation has no feature manifests.
+     *
+     * @param toolJar a jar in the bin/tools folder of the installation, such as ws-featurelist.jar
+     */
+    public static String getFingerprint(String libertyRuntime, String libertyVersion, String locale, Path toolJar) {
+        Path installDir = toolJar.toAbsolutePath().getParent().getParent().getParent();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, libertyRuntime);
+            update(digest, libertyVersion);
+            update(digest, locale);
+            int manifestCount = 0;
+            for (Path manifestDir : FEATURE_MANIFEST_DIRS) {
+                for (Path manifest : listManifests(installDir.resolve(manifestDir))) {
+                    BasicFileAttributes attributes = Files.readAttributes(manifest, BasicFileAttributes.class);
+                    update(digest, manifestDir.resolve(manifest.getFileName()).toString());
+                    update(digest, Long.toString(attributes.size()));
+                    update(digest, Long.toString(attributes.lastModifiedTime().toMillis()));
+                    manifestCount++;
+                }
+            }
+            if (manifestCount == 0) {
+                LOGGER.fine("No feature manifests found in " + installDir);
+                return null;
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            LOGGER.warning("Unable to compute the fingerprint of the Liberty installation at " + installDir + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    // sorted so that the fingerprint does not depend on the directory listing order
+    private static List<Path> listManifests(Path dir) throws IOException {
+        List<Path> manifests = new ArrayList<>();
+        if (Files.isDirectory(dir)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*.mf")) {
+                stream.forEach(manifests::add);
+            }
+        }
+        Collections.sort(manifests);
+        return manifests;
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    /**
+     * Returns the cached file with the passed name for the fingerprint, or null if it is not cached.
+     */
+    public static File getCachedFile(String fingerprint, String fileName) {
+        File file = CACHE_DIR.resolve(fingerprint).resolve(fileName).toFile();
+        if (!file.isFile()) {
+            return null;
+        }
+        markUsed(fingerprint);
+        return file;
+    }
+
+    /**
+     * Copies a generated file into the cache for the fingerprint. Failures are logged and otherwise ignored,
+     * since the cache is only an optimization.
+     *
+     * @return the cached file, or null if it could not be stored
+     */
+    public static File store(String fingerprint, String fileName, File file) {
+        Path target = CACHE_DIR.resolve(fingerprint).resolve(fileName);
+        Path tempFile = null;
+        try {
+            boolean newEntry = !Files.isDirectory(target.getParent());
+            Files.createDirectories(target.getParent());
+            tempFile = Files.createTempFile(target.getParent(), fileName, ".tmp");
+            Files.copy(file.toPath(), tempFile, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOGGER.fine("Cached " + file + " as " + target);
+            markUsed(fingerprint);
+            if (newEntry) {
+                prune(fingerprint);
+            }
+            return target.toFile();
+        } catch (IOException e) {
+            LOGGER.warning("Unable to cache " + file + ": " + e.getMessage());
+            deleteQuietly(tempFile);
+            return null;
+        }
+    }
+
+    private static void markUsed(String fingerprint) {
+        try {
+            Files.setLastModifiedTime(CACHE_DIR.resolve(fingerprint), FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            LOGGER.fine("Unable to update the modification time of cache entry " + fingerprint + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes the least recently used entries so that at most MAX_ENTRIES are kept, never the passed one.
+     */
+    private static void prune(String keptFingerprint) {
+        File[] entries = CACHE_DIR.toFile().listFiles(entry -> entry.isDirectory() && !entry.getName().equals(keptFingerprint));
+        if (entries == null || entries.length < MAX_ENTRIES) {
+            return;
+        }
+        Arrays.sort(entries, Comparator.comparingLong(File::lastModified).reversed());
+        for (int i = MAX_ENTRIES - 1; i < entries.length; i++) {
+            LOGGER.fine("Removing least recently used cache entry " + entries[i]);
+            FileUtils.deleteQuietly(entries[i]);
+        }
+    }
+
+    /**
+     * Copies a cached file to the passed destination.
+     *
+     * @return true if the file was copied
+     */
+    public static boolean restore(File cachedFile, File destination) {
+        try {
+            Files.createDirectories(destination.toPath().getParent());
+            Files.copy(cachedFile.toPath(), destination.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } catch (IOException e) {
+            LOGGER.warning("Unable to copy cached " + cachedFile + " to " + destination + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Returns the features read from the cached feature list of the fingerprint, or null if they are not cached.
+     */
+    public static FeaturesAndPlatforms readFeatures(String fingerprint, String libertyRuntime, String libertyVersion) {
+        File featureListFile = getCachedFile(fingerprint, FEATURELIST_FILE);
+        return featureListFile == null ? null : FeaturesSnapshotUtil.readSnapshot(featureListFile, libertyRuntime, libertyVersion, fingerprint);
+    }
+
+    /**
+     * Caches the features and graph read from the feature list of the fingerprint. The feature list must already be cached.
+     */
+    public static void writeFeatures(String fingerprint, String libertyRuntime, String libertyVersion, FeaturesAndPlatforms fp, FeatureListGraph graph) {
+        File featureListFile = getCachedFile(fingerprint, FEATURELIST_FILE);
+        if (featureListFile == null) {
+            return;
+        }
+        FeaturesSnapshotUtil.writeSnapshot(featureListFile, libertyRuntime, libertyVersion, fingerprint, fp);
+        writeGraph(fingerprint, graph);
+    }
+
+    /**
+     * Returns the cached feature list graph of the fingerprint, or null if it is not cached or cannot be read.
+     */
+    public static FeatureListGraph readGraph(String fingerprint) {
+        File graphFile = getCachedFile(fingerprint, GRAPH_FILE);
+        if (graphFile == null) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(graphFile.toPath()), 64 * 1024))) {
+            if (in.readInt() != GRAPH_MAGIC || in.readInt() != GRAPH_FORMAT_VERSION) {
+                LOGGER.fine("Ignoring feature list graph with unknown format: " + graphFile);
+                return null;
+            }
+            return FeatureListGraph.read(in, graphFile.length());
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warning("Unable to read cached feature list graph " + graphFile + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void writeGraph(String fingerprint, FeatureListGraph graph) {
+        Path target = CACHE_DIR.resolve(fingerprint).resolve(GRAPH_FILE);
+        Path tempFile = null;
+        try {
+            tempFile = Files.createTempFile(target.getParent(), GRAPH_FILE, ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile), 64 * 1024))) {
+                out.writeInt(GRAPH_MAGIC);
+                out.writeInt(GRAPH_FORMAT_VERSION);
+                graph.write(out);
+            }
+            Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOGGER.fine("Cached feature list graph as " + target);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warning("Unable to cache feature list graph " + target + ": " + e.getMessage());
+            deleteQuietly(tempFile);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file != null) {
+            file.toFile().delete();
+        }
+    }
+}
@@ -33,6 +33,8 @@ public final class LibertyConstants {
     public static final String PLATFORM_ELEMENT = "platform";
     public static final String PUBLIC_VISIBILITY = "PUBLIC";
     public static final String PRIVATE_VISIBILITY = "PRIVATE";
+    // symbolic name prefix of the internal features a versionless feature requires
+    public static final String IO_OPENLIBERTY_INTERNAL_VERSIONLESS = "io.openliberty.internal.versionless.";
     public static final String VARIABLE_ELEMENT = "variable";
 
     // following URI standard of using "/"
@@ -70,6 +72,10 @@ public final class LibertyConstants {
         put("wasJmsSecurity-", "messagingSecurity-");
     }});
 
+    // changedFeatureNameMap in lower case and without the trailing "-", old name to new name and new name to old name
+    public static final Map<String, String> changedFeatureNamesLowerCase = lowerCaseWithoutVersionSeparator(changedFeatureNameMap, false);
+    public static final Map<String, String> changedFeatureNamesLowerCaseReversed = lowerCaseWithoutVersionSeparator(changedFeatureNameMap, true);
+
     public static List<String> filesToWatch= Arrays.asList(SERVER_XML,"server.env","bootstrap.properties");
     public static final String DEFAULT_LIBERTY_VERSION = "25.0.0.6";
 
@@ -77,4 +83,14 @@ public final class LibertyConstants {
 
     public static final String LOCALE = "$LOCALE";
     public static final Locale BRAZIL_PORTUGESE_LOCALE=new Locale("pt", "BR");
+
+    private static Map<String, String> lowerCaseWithoutVersionSeparator(Map<String, String> featureNames, boolean reversed) {
+        Map<String, String> result = new HashMap<>();
+        for (Map.Entry<String, String> entry : featureNames.entrySet()) {
+            String key = entry.getKey().substring(0, entry.getKey().lastIndexOf('-')).toLowerCase();
+            String value = entry.getValue().substring(0, entry.getValue().lastIndexOf('-')).toLowerCase();
+            result.put(reversed ? value : key, reversed ? key : value);
+        }
+        return Collections.unmodifiableMap(result);
+    }
 }
@@ -36,13 +36,13 @@ import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import io.openliberty.tools.common.plugins.util.VariableUtility;
-import io.openliberty.tools.langserver.lemminx.models.feature.VariableLoc;
 import org.eclipse.lemminx.dom.DOMDocument;
 
 import io.openliberty.tools.langserver.lemminx.data.LibertyRuntime;
 import io.openliberty.tools.langserver.lemminx.models.feature.FeaturesAndPlatforms;
 import io.openliberty.tools.langserver.lemminx.models.settings.DevcMetadata;
 import io.openliberty.tools.langserver.lemminx.services.ContainerService;
+import io.openliberty.tools.langserver.lemminx.services.FileStatCache;
 import io.openliberty.tools.langserver.lemminx.services.LibertyProjectsManager;
 import io.openliberty.tools.langserver.lemminx.services.LibertyWorkspace;
 import io.openliberty.tools.langserver.lemminx.services.SettingsService;
@@ -63,11 +63,6 @@ public class LibertyUtils {
 
     private static Thread thread;
 
-    //considering ${var} pattern for variable.  do we have other representation for variable?
-    private static final String VAR_PATTERN_REGEX = "\\$\\{(.*?)\\}";
-    // Compile the Regex.
-    private static final Pattern VAR_PATTERN = Pattern.compile(VAR_PATTERN_REGEX);
-
     private LibertyUtils() {
     }
 
@@ -124,6 +119,21 @@ public class LibertyUtils {
         return URI.create(document.getDocumentURI());
     }
 
+    /**
+     * Returns the file an include location refers to: the location relative to the directory of the
+     * including document if it exists there, otherwise the location as is. Uses the FileStatCache.
+     *
+     * @param documentDir directory of the document containing the include
+     * @param location value of the location attribute
+     */
+    public static File resolveIncludeLocation(File documentDir, String location) {
+        File configFile = new File(documentDir, location);
+        if (!FileStatCache.getInstance().exists(configFile)) {
+            configFile = new File(location);
+        }
+        return configFile;
+    }
+
     /*
      * Check the dirs collection of Path objects to see if any of them have a name that matches the passed collection of names.
      * 
@@ -616,33 +626,6 @@ public class LibertyUtils {
         return null;
     }
 
-    /**
-     * read variables from text content
-     * if the text content is ${testVar1}/${testVar2}/app ,response will contain 2 variable values
-     * [{testVar1,startIndex,endIndex},{testVar2,startIndex,endIndex}]
-     *
-     * @param domDocument current document
-     * @param docContent  text content
-     * @return list of variables.
-     */
-    public static List<VariableLoc> getVariablesFromTextContent(DOMDocument domDocument, String docContent) {
-        List<VariableLoc> variables = new ArrayList<>();
-        // Find match between given string
-        // and regular expression
-        // using Pattern.matcher()
-        Matcher m = VAR_PATTERN.matcher(docContent);
-        // Get the subsequence
-        // using find() method
-        while (m.find()) {
-            VariableLoc variableLoc = new VariableLoc(m.group(1), m.start(1), m.end(1));
-            DOMNode node = domDocument.findNodeAt(variableLoc.getStartLoc());
-            if(node!=null && !node.isComment()) {
-                variables.add(variableLoc);
-            }
-        }
-        return variables;
-    }
-
     /**
      * check whether two strings contains each other
      *
@@ -13,15 +13,26 @@
 package io.openliberty.tools.langserver.lemminx.util;
 
 import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
 import java.net.URI;
 import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.time.Duration;
 import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 import io.openliberty.tools.langserver.lemminx.services.SettingsService;
@@ -56,6 +67,26 @@ public class LibertyVersionDownloadUtil {
     private static final Logger LOGGER = Logger.getLogger(LibertyVersionDownloadUtil.class.getName());
     private static final int MAX_RETRIES = 3;
     private static final int RETRY_DELAY_MS = 5000;
+    // shared so that concurrent requests for the same resource wait for one download
+    private static final CacheResourcesManager RESOURCE_MANAGER = new CacheResourcesManager();
+    private static final ScheduledExecutorService RETRY_SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "liberty-download-retry");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // downloads from a mirror, which are not done through the LemMinX cache
+    private static final ExecutorService MIRROR_DOWNLOAD_EXECUTOR = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "liberty-mirror-download");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static volatile HttpClient httpClient;
+
+    // ETag, Last-Modified and time of the last successful check are stored in a properties file next to a cached copy
+    private static final String VALIDATORS_EXTENSION = ".validators";
+    private static final String ETAG = "etag";
+    private static final String LAST_MODIFIED = "lastModified";
+    private static final String CHECKED = "checked";
 
     /**
      * Attempts to get the latest version from either the remote repository or the local cache.
@@ -85,26 +116,73 @@ public class LibertyVersionDownloadUtil {
     /**
      * fetches a resource from remote repository
      * if fetch is successful and cache path is present, file will be written to cache path as well
+     * along with the ETag and Last-Modified validators of the response. When validators exist, the cached copy is
+     * returned without a request if it was checked within the download cache TTL, and is otherwise revalidated
+     * with a conditional GET that returns the cached copy on 304 Not Modified.
+     * Maven Central urls are read from the configured artifact repository instead, and in offline mode
+     * only a file repository or the cached copy is used.
      *
      * @param resourceUrl   resource url
      * @param cacheFilePath cache location
      * @return resource content in string
      */
     public static String getResource(String resourceUrl, String cacheFilePath) {
-        HttpClient client = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(10))
-                .build();
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(resourceUrl))
-                .build();
+        String sourceUrl = ArtifactRepository.resolve(resourceUrl);
+        if (ArtifactRepository.isLocal(sourceUrl)) {
+            return getLocalResource(sourceUrl, cacheFilePath);
+        }
+        if (ArtifactRepository.isOffline()) {
+            LOGGER.fine("Offline mode, not requesting %s".formatted(sourceUrl));
+            return cacheFilePath != null ? readCachedContent(cacheFilePath) : null;
+        }
+        return getRemoteResource(resourceUrl, sourceUrl, cacheFilePath);
+    }
+
+    /**
+     * Requests a resource from the passed source url, which is the resource url or its location in the
+     * configured repository, using and updating the cached copy of the resource url.
+     */
+    private static String getRemoteResource(String resourceUrl, String sourceUrl, String cacheFilePath) {
+        // validators are only kept while the cached copy they describe exists
+        Properties validators = cacheFilePath != null ? readValidators(Paths.get(cacheFilePath)) : null;
+        if (validators != null && isFresh(validators)) {
+            String cachedContent = readCachedContent(cacheFilePath);
+            if (cachedContent != null) {
+                LOGGER.fine("Using cached copy of %s without revalidation".formatted(resourceUrl));
+                return cachedContent;
+            }
+        }
+
+        HttpClient client = getHttpClient();
+        HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
+                .uri(URI.create(sourceUrl));
+        if (validators != null) {
+            // conditional GET, the server answers 304 without a body if the cached copy is current
+            if (validators.getProperty(ETAG) != null) {
+                requestBuilder.header("If-None-Match", validators.getProperty(ETAG));
+            }
+            if (validators.getProperty(LAST_MODIFIED) != null) {
+                requestBuilder.header("If-Modified-Since", validators.getProperty(LAST_MODIFIED));
+            }
+        }
         try {
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> response = client.send(requestBuilder.build(), HttpResponse.BodyHandlers.ofString());
 
+            if (response.statusCode() == 304 && validators != null) {
+                String cachedContent = readCachedContent(cacheFilePath);
+                if (cachedContent != null) {
+                    LOGGER.fine("Cached copy of %s is up to date".formatted(resourceUrl));
+                    validators.setProperty(CHECKED, Long.toString(System.currentTimeMillis()));
+                    writeValidators(Paths.get(cacheFilePath), validators);
+                    return cachedContent;
+                }
+            }
             if (response.statusCode() == 200) {
                 String xmlContent = response.body();
                 if (cacheFilePath != null) {
                     // Save the content to the local cache before parsing.
                     saveToLocalCache(cacheFilePath, xmlContent);
+                    saveValidators(Paths.get(cacheFilePath), response.headers());
                 }
                 return xmlContent;
             } else {
@@ -118,6 +196,150 @@ public class LibertyVersionDownloadUtil {
         }
     }
 
+    /**
+     * Reads a resource from a file repository, saving it to the cache path as well if present
+     * so it is found at the same location as a downloaded copy.
+     *
+     * @return resource content in string, or null if the file repository does not have it
+     */
+    private static String getLocalResource(String sourceUrl, String cacheFilePath) {
+        try {
+            String content = Files.readString(ArtifactRepository.toPath(sourceUrl));
+            if (cacheFilePath != null) {
+                saveToLocalCache(cacheFilePath, content);
+            }
+            return content;
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.warning("Failed to read %s from the local artifact repository: %s".formatted(sourceUrl, e.getMessage()));
+            return null;
+        }
+    }
+
+    /**
+     * Returns the HTTP client shared by all downloads, so connections to the repository are reused.
+     * The client negotiates HTTP/2 and falls back to HTTP/1.1 if the server does not support it.
+     */
+    private static HttpClient getHttpClient() {
+        HttpClient client = httpClient;
+        if (client == null) {
+            synchronized (LibertyVersionDownloadUtil.class) {
+                client = httpClient;
+                if (client == null) {
+                    client = HttpClient.newBuilder()
+                            .version(HttpClient.Version.HTTP_2)
+                            .connectTimeout(Duration.ofSeconds(10))
+                            .build();
+                    httpClient = client;
+                }
+            }
+        }
+        return client;
+    }
+
+    /**
+     * Returns the location of the cached copy of the passed URL under ~/.lemminx/cache,
+     * using the same layout as the LemMinX cache: scheme, host and then the URL path.
+     *
+     * @param resourceUrl resource url
+     * @return cache file path
+     */
+    public static Path getCacheFilePath(String resourceUrl) {
+        URI uri = URI.create(resourceUrl);
+        return Paths.get(CACHE_BASE_DIR, uri.getScheme(), uri.getHost(), uri.getPath());
+    }
+
+    private static String readCachedContent(String cacheFilePath) {
+        try {
+            return Files.readString(Paths.get(cacheFilePath));
+        } catch (IOException e) {
+            LOGGER.fine("Unable to read cached copy %s: %s".formatted(cacheFilePath, e.getMessage()));
+            return null;
+        }
+    }
+
+    private static Path getValidatorsFile(Path cacheFile) {
+        return cacheFile.resolveSibling(cacheFile.getFileName() + VALIDATORS_EXTENSION);
+    }
+
+    /**
+     * Reads the validators stored next to the passed cache file.
+     *
+     * @return the validators, or null if the cache file or its validators do not exist
+     */
+    private static Properties readValidators(Path cacheFile) {
+        Path validatorsFile = getValidatorsFile(cacheFile);
+        if (!Files.isRegularFile(cacheFile) || !Files.isRegularFile(validatorsFile)) {
+            return null;
+        }
+        Properties validators = new Properties();
+        try (Reader reader = Files.newBufferedReader(validatorsFile)) {
+            validators.load(reader);
+            return validators;
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.fine("Ignoring unreadable validators %s: %s".formatted(validatorsFile, e.getMessage()));
+            return null;
+        }
+    }
+
+    /**
+     * Stores the ETag and Last-Modified headers of a response next to the cache file it was saved to.
+     * Responses without either header get no validators, so they are fetched in full next time.
+     */
+    private static void saveValidators(Path cacheFile, HttpHeaders headers) {
+        Properties validators = new Properties();
+        if (headers != null) {
+            headers.firstValue("ETag").ifPresent(etag -> validators.setProperty(ETAG, etag));
+            headers.firstValue("Last-Modified").ifPresent(lastModified -> validators.setProperty(LAST_MODIFIED, lastModified));
+        }
+        if (validators.isEmpty()) {
+            try {
+                Files.deleteIfExists(getValidatorsFile(cacheFile));
+            } catch (IOException e) {
+                LOGGER.fine("Unable to delete validators for %s: %s".formatted(cacheFile, e.getMessage()));
+            }
+            return;
+        }
+        validators.setProperty(CHECKED, Long.toString(System.currentTimeMillis()));
+        writeValidators(cacheFile, validators);
+    }
+
+    private static void writeValidators(Path cacheFile, Properties validators) {
+        Path validatorsFile = getValidatorsFile(cacheFile);
+        try {
+            StringWriter writer = new StringWriter();
+            validators.store(writer, null);
+            writeAtomically(validatorsFile, writer.toString());
+        } catch (IOException e) {
+            LOGGER.warning("Failed to save validators to local cache: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns true if the cached copy was validated within the configured freshness time
+     * and can be used without asking the server.
+     */
+    private static boolean isFresh(Properties validators) {
+        try {
+            long checked = Long.parseLong(validators.getProperty(CHECKED, "0"));
+            long ttlMillis = SettingsService.getInstance().getDownloadCacheTtl() * 1000L;
+            return System.currentTimeMillis() - checked < ttlMillis;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    // write to a temporary file first, so another language server reading the cache never sees a partial file
+    private static void writeAtomically(Path filePath, String content) throws IOException {
+        Files.createDirectories(filePath.getParent());
+        Path tempFile = Files.createTempFile(filePath.getParent(), filePath.getFileName().toString(), ".tmp");
+        try {
+            Files.writeString(tempFile, content);
+            Files.move(tempFile, filePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
     /**
      * Reads the maven-metadata.xml file from the local cache and parses it.
      *
@@ -150,9 +372,7 @@ public class LibertyVersionDownloadUtil {
     private static void saveToLocalCache(String cacheFilePath, String xmlContent) {
         Path filePath = Paths.get(cacheFilePath);
         try {
-            // Ensure the parent directories exist before writing the file.
-            Files.createDirectories(filePath.getParent());
-            Files.writeString(filePath, xmlContent);
+            writeAtomically(filePath, xmlContent);
             LOGGER.fine("Successfully saved content to local cache.");
         } catch (IOException e) {
             LOGGER.warning("Failed to save content to local cache: " + e.getMessage());
@@ -225,60 +445,120 @@ public class LibertyVersionDownloadUtil {
      * @return downloaded resource path
      */
     public static Path downloadAndCacheLatestResource(String url, String urlWithLocale) {
-        Path serverResourceFile = null;
-        if (SettingsService.getInstance().getLatestRuntimeVersion() != null) {
-            String resourceURL = parseURL(url, urlWithLocale);
-            serverResourceFile = downloadWithRetry(resourceURL);
+        try {
+            return downloadAndCacheLatestResourceAsync(url, urlWithLocale).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Restore interrupt status
+            logFallbackWarning("Download retry interrupted");
+            return null;
+        } catch (ExecutionException e) {
+            logFallbackWarning("Unexpected error during resource download: " + e.getMessage());
+            return null;
         }
-        return serverResourceFile;
     }
 
     /**
-     * Downloads a resource with retry capability.
+     * Starts the download of the resource for the latest runtime version without waiting for it.
+     * Several resources started this way are downloaded in parallel.
      *
-     * @param resourceURL The URL of the resource to download
-     * @return Path to the downloaded or cached resource, or null if download failed
+     * @param url           schema or featurelist url
+     * @param urlWithLocale url with locale placeholder
+     * @return future completed with the downloaded resource path, or null if the download failed
+     */
+    public static CompletableFuture<Path> downloadAndCacheLatestResourceAsync(String url, String urlWithLocale) {
+        if (SettingsService.getInstance().getLatestRuntimeVersion() == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        // cached copies are stored under the Maven Central URL, whichever repository they were downloaded from
+        String mavenCentralURL = parseURL(url, urlWithLocale);
+        String resourceURL = ArtifactRepository.resolve(mavenCentralURL);
+        if (ArtifactRepository.isLocal(resourceURL)) {
+            // a file repository is used in place, there is nothing to download or cache
+            Path localFile = ArtifactRepository.toPath(resourceURL);
+            if (Files.isRegularFile(localFile)) {
+                return CompletableFuture.completedFuture(localFile);
+            }
+            logFallbackWarning("Resource not found in the local artifact repository: " + resourceURL);
+            return CompletableFuture.completedFuture(null);
+        }
+        if (ArtifactRepository.isOffline()) {
+            return CompletableFuture.completedFuture(getCachedResource(mavenCentralURL));
+        }
+        if (!resourceURL.equals(mavenCentralURL)) {
+            // the LemMinX cache would store the copy under the mirror URL, getResource stores it under the Maven Central URL
+            return CompletableFuture.supplyAsync(() -> downloadFromMirror(mavenCentralURL, resourceURL), MIRROR_DOWNLOAD_EXECUTOR);
+        }
+        CompletableFuture<Path> result = new CompletableFuture<>();
+        downloadWithRetry(resourceURL, 1, result);
+        return result;
+    }
+
+    /**
+     * Returns the copy of the resource cached by an earlier download, without downloading it.
+     *
+     * @return the cached resource path, or null if it was never downloaded
      */
-    private static Path downloadWithRetry(String resourceURL) {
-        int retryCount = 0;
-        Path serverResourceFile = null;
-        CacheResourcesManager resourceManager = new CacheResourcesManager();
+    private static Path getCachedResource(String resourceURL) {
+        // the LemMinX cache uses the same layout as getCacheFilePath
+        Path cachedFile = getCacheFilePath(resourceURL);
+        if (Files.isRegularFile(cachedFile)) {
+            LOGGER.fine("Offline mode, using cached %s".formatted(cachedFile));
+            return cachedFile;
+        }
+        logFallbackWarning("Offline mode, resource was never downloaded: " + resourceURL);
+        return null;
+    }
 
-        while (retryCount < MAX_RETRIES) {
-            try {
-                LOGGER.fine("Downloading resource: %s".formatted(resourceURL));
-                // getResource first checks in cache and if not exist, downloads resources
-                // lemminx library api to download and cache file
-                serverResourceFile = resourceManager.getResource(resourceURL);
-                return serverResourceFile; // Success - return immediately
-
-            } catch (CacheResourceDownloadingException e) {
-                // Only retry for RESOURCE_LOADING errors
-                // API sometime return RESOURCE_LOADING error which will fix once resource is fully downloaded
-                if (CacheResourceDownloadingException.CacheResourceDownloadingError.RESOURCE_LOADING.equals(e.getErrorCode())) {
-                    retryCount++;
-                    LOGGER.fine("Download in progress, retrying... (Attempt %s/%s)".formatted(retryCount, MAX_RETRIES));
-                    try {
-                        Thread.sleep(RETRY_DELAY_MS);
-                    } catch (InterruptedException ex) {
-                        Thread.currentThread().interrupt(); // Restore interrupt status
-                        logFallbackWarning("Download retry interrupted");
-                        return null;
-                    }
-                } else {
-                    // Other download errors - no retry
-                    logFallbackWarning("Resource download failed: " + e.getMessage());
-                    return null;
+    /**
+     * Downloads a resource from the configured mirror into the cache location of its Maven Central URL.
+     *
+     * @return the cached resource path, or null if the download failed
+     */
+    private static Path downloadFromMirror(String mavenCentralURL, String mirrorURL) {
+        Path cachedFile = getCacheFilePath(mavenCentralURL);
+        if (getRemoteResource(mavenCentralURL, mirrorURL, cachedFile.toString()) == null) {
+            logFallbackWarning("Resource download from the artifact repository failed: " + mirrorURL);
+            return null;
+        }
+        return cachedFile;
+    }
+
+    /**
+     * Downloads a resource with retry capability. A retry is scheduled on the retry scheduler
+     * instead of sleeping, so no thread is held while waiting.
+     *
+     * @param resourceURL The URL of the resource to download
+     * @param attempt     attempt number, starting at 1
+     * @param result      completed with the path to the downloaded or cached resource, or null if download failed
+     */
+    private static void downloadWithRetry(String resourceURL, int attempt, CompletableFuture<Path> result) {
+        try {
+            LOGGER.fine("Downloading resource: %s".formatted(resourceURL));
+            // getResource first checks in cache and if not exist, downloads resources
+            // lemminx library api to download and cache file
+            result.complete(RESOURCE_MANAGER.getResource(resourceURL));
+        } catch (CacheResourceDownloadingException e) {
+            // Only retry for RESOURCE_LOADING errors
+            // API sometime return RESOURCE_LOADING error which will fix once resource is fully downloaded
+            if (CacheResourceDownloadingException.CacheResourceDownloadingError.RESOURCE_LOADING.equals(e.getErrorCode())) {
+                if (attempt >= MAX_RETRIES) {
+                    // Max retries reached without success
+                    logFallbackWarning("Resource download failed after " + MAX_RETRIES + " attempts");
+                    result.complete(null);
+                    return;
                 }
-            } catch (Exception e) {
-                // Unexpected errors - no retry
-                logFallbackWarning("Unexpected error during resource download: " + e.getMessage());
-                return null;
+                LOGGER.fine("Download in progress, retrying... (Attempt %s/%s)".formatted(attempt, MAX_RETRIES));
+                RETRY_SCHEDULER.schedule(() -> downloadWithRetry(resourceURL, attempt + 1, result), RETRY_DELAY_MS, TimeUnit.MILLISECONDS);
+            } else {
+                // Other download errors - no retry
+                logFallbackWarning("Resource download failed: " + e.getMessage());
+                result.complete(null);
             }
+        } catch (Exception e) {
+            // Unexpected errors - no retry
+            logFallbackWarning("Unexpected error during resource download: " + e.getMessage());
+            result.complete(null);
         }
-        // Max retries reached without success
-        logFallbackWarning("Resource download failed after " + MAX_RETRIES + " attempts");
-        return null;
     }
 
     /**
@@ -98,7 +98,7 @@ public class XmlReader {
         return false;
     }
 
-    private static XMLInputFactory getXmlInputFactory() {
+    public static XMLInputFactory getXmlInputFactory() {
         XMLInputFactory factory = XMLInputFactory.newInstance();
         try {
             factory.setProperty(XMLInputFactory.IS_VALIDATING, Boolean.FALSE);